@@ -0,0 +1,136 @@
+package jce;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.compiler.IProblem;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.CompilationUnit;
+
+import jce.util.jdt.PackageFilter;
+
+/**
+ * Verifies that the ecorified code compiles without running the project builders. The source packages are compiled in
+ * memory by the Eclipse compiler behind the JDT {@link ASTParser}, every package as its own batch on a thread pool.
+ * References to other packages are resolved through the Java project, which means the batches are independent. No
+ * class files are written.
+ * @author Timur Saglam
+ */
+public class CompilationVerifier {
+    private static final Logger logger = LogManager.getLogger(CompilationVerifier.class.getName());
+    private static final int REPORTED_ERRORS = 10;
+    private final AtomicInteger errorCount;
+    private final ConcurrentLinkedQueue<String> errors;
+    private final AtomicInteger unitCount;
+    private final AtomicInteger warningCount;
+
+    /**
+     * Basic constructor.
+     */
+    public CompilationVerifier() {
+        errors = new ConcurrentLinkedQueue<>();
+        errorCount = new AtomicInteger();
+        warningCount = new AtomicInteger();
+        unitCount = new AtomicInteger();
+    }
+
+    /**
+     * Compiles all source packages of a project in memory and logs a diagnostics summary.
+     * @param project is the {@link IProject} to verify.
+     * @return true if the project compiles without errors.
+     */
+    public boolean verify(IProject project) {
+        long startTime = System.currentTimeMillis();
+        IJavaProject javaProject = JavaCore.create(project);
+        List<IPackageFragment> packages = PackageFilter.startsNotWith(project); // all source packages
+        ExecutorService executor = Executors.newFixedThreadPool(Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), packages.size())));
+        List<Future<?>> futures = new ArrayList<>();
+        for (IPackageFragment fragment : packages) {
+            futures.add(executor.submit(() -> compile(javaProject, fragment)));
+        }
+        executor.shutdown();
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+                logger.error("Verification was interrupted.", exception);
+            } catch (ExecutionException exception) {
+                logger.error(exception.getCause());
+            }
+        }
+        logSummary(project, packages.size(), System.currentTimeMillis() - startTime);
+        return errorCount.get() == 0;
+    }
+
+    /**
+     * Compiles the compilation units of one package as a single batch and collects the problems.
+     */
+    private void compile(IJavaProject javaProject, IPackageFragment fragment) {
+        try {
+            ICompilationUnit[] units = fragment.getCompilationUnits();
+            if (units.length > 0) {
+                ASTParser parser = ASTParser.newParser(AST.JLS10);
+                Map<String, String> options = JavaCore.getOptions();
+                JavaCore.setComplianceOptions(JavaCore.VERSION_1_8, options);
+                parser.setCompilerOptions(options);
+                parser.setProject(javaProject);
+                parser.setResolveBindings(true); // needed for semantic errors
+                parser.createASTs(units, new String[0], new ProblemCollector(), new NullProgressMonitor());
+            }
+        } catch (JavaModelException exception) {
+            logger.error("Could not verify package " + fragment.getElementName(), exception);
+        }
+    }
+
+    /**
+     * Logs the number of compiled units, errors and warnings and the first errors.
+     */
+    private void logSummary(IProject project, int packages, long duration) {
+        String summary = "Verified " + unitCount + " units in " + packages + " packages of " + project.getName() + " in " + duration
+                + " ms: " + errorCount + " errors, " + warningCount + " warnings";
+        if (errorCount.get() == 0) {
+            logger.info(summary);
+        } else {
+            StringBuilder report = new StringBuilder(summary);
+            errors.stream().limit(REPORTED_ERRORS).forEach(error -> report.append(System.lineSeparator()).append("  ").append(error));
+            logger.error(report);
+        }
+    }
+
+    /**
+     * Collects the problems of the compiled units.
+     */
+    private class ProblemCollector extends ASTRequestor {
+        @Override
+        public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+            unitCount.incrementAndGet();
+            for (IProblem problem : ast.getProblems()) {
+                if (problem.isError()) {
+                    errorCount.incrementAndGet();
+                    errors.add(source.getElementName() + ":" + problem.getSourceLineNumber() + ": " + problem.getMessage());
+                } else if (problem.isWarning()) {
+                    warningCount.incrementAndGet();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package jce;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.jobs.JobGroup;
+
+import jce.properties.EcorificationProperties;
+import jce.properties.TextProperty;
+import jce.util.jdt.ASTStatistics;
+
+/**
+ * Ecorifies multiple Java projects concurrently. Every project is ecorified by its own {@link EcorificationJob}, which
+ * means the runs share no state. The jobs are members of a {@link JobGroup}, which limits the number of parallel runs.
+ * The extractions, verifications and builds of the runs overlap, while the pipeline steps 2 to 5 exclude each other
+ * through the rule of the workspace root, see {@link JavaCodeEcorification#ecorify(IProject, IProgressMonitor)}.
+ * @author Timur Saglam
+ */
+public class ConcurrentEcorification {
+    private static final Logger logger = LogManager.getLogger(ConcurrentEcorification.class.getName());
+    private final EcorificationProperties properties;
+
+    /**
+     * Basic constructor.
+     */
+    public ConcurrentEcorification() {
+        properties = new EcorificationProperties();
+    }
+
+    /**
+     * Ecorifies a selection of Java projects concurrently and waits for all runs. The number of parallel runs is
+     * limited by the property ParallelRuns. Canceling the monitor cancels all runs that are not finished.
+     * @param projects are the selected projects.
+     * @param monitor is the {@link IProgressMonitor} of the caller, which is used to wait for the runs.
+     * @return the aggregate performance report of all runs.
+     */
+    public String start(Collection<IProject> projects, IProgressMonitor monitor) {
+        long startTime = System.currentTimeMillis();
+        int parallelRuns = Math.max(1, Math.min(getParallelRuns(), projects.size()));
+        JobGroup group = new JobGroup("Concurrent ecorification", parallelRuns, projects.size());
+        List<EcorificationJob> jobs = new ArrayList<>();
+        for (IProject project : projects) {
+            EcorificationJob job = new EcorificationJob(project, false);
+            job.setJobGroup(group);
+            jobs.add(job);
+            job.schedule();
+        }
+        try {
+            group.join(0, monitor);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            logger.error("Concurrent ecorification was interrupted.", exception);
+        } catch (OperationCanceledException exception) {
+            group.cancel();
+            logger.warn("Concurrent ecorification was canceled.");
+        }
+        List<RunResult> results = new ArrayList<>();
+        for (EcorificationJob job : jobs) {
+            IProject output = job.getOutputProject();
+            results.add(new RunResult(job.getOriginalProject().getName(), output == null ? null : output.getName(), job.getRunTime(),
+                    job.getStageTimes(), job.getASTStatistics(), job.getFailure()));
+        }
+        String report = createReport(results, System.currentTimeMillis() - startTime);
+        logger.info(report);
+        return report;
+    }
+
+    /**
+     * Creates the aggregate performance report: The duration of every run, the summed durations of every pipeline step
+     * and the effective parallelism, which is the summed run time divided by the wall time.
+     */
+    private String createReport(List<RunResult> results, long wallTime) {
+        StringBuilder report = new StringBuilder("Concurrent ecorification of " + results.size() + " projects:");
+        Map<Integer, Long> stageSums = new TreeMap<>();
+        ASTStatistics astStatistics = new ASTStatistics();
+        long runTimeSum = 0;
+        int failures = 0;
+        for (RunResult result : results) {
+            report.append(System.lineSeparator()).append("  ").append(result);
+            result.stageTimes.forEach((step, time) -> stageSums.merge(step, time, Long::sum));
+            runTimeSum += result.runTime;
+            if (result.astStatistics != null) {
+                astStatistics.add(result.astStatistics);
+            }
+            failures += result.failure == null ? 0 : 1;
+        }
+        stageSums.forEach((step, time) -> report.append(System.lineSeparator()).append("  Step " + step + ": " + time + " ms in total"));
+        report.append(System.lineSeparator()).append("  Wall time: " + wallTime + " ms, summed run time: " + runTimeSum + " ms");
+        report.append(String.format(", effective parallelism: %.2f", runTimeSum / (double) Math.max(1, wallTime)));
+        report.append(System.lineSeparator()).append("  Parse modes: " + astStatistics.getParseStatistics());
+        report.append(System.lineSeparator()).append("  Source edits: " + astStatistics.getEditStatistics());
+        report.append(System.lineSeparator()).append("  Failed runs: " + failures);
+        return report.toString();
+    }
+
+    /**
+     * Reads the maximal number of parallel runs from the properties.
+     */
+    private int getParallelRuns() {
+        try {
+            return Integer.parseInt(properties.get(TextProperty.PARALLEL_RUNS));
+        } catch (NumberFormatException exception) {
+            logger.warn("Invalid number of parallel runs, using the number of processors instead.");
+            return Runtime.getRuntime().availableProcessors();
+        }
+    }
+
+    /**
+     * Result of a single ecorification run.
+     */
+    private static class RunResult {
+        private final ASTStatistics astStatistics;
+        private final Throwable failure;
+        private final String outputName;
+        private final String projectName;
+        private final long runTime;
+        private final Map<Integer, Long> stageTimes;
+
+        RunResult(String projectName, String outputName, long runTime, Map<Integer, Long> stageTimes, ASTStatistics astStatistics,
+                Throwable failure) {
+            this.projectName = projectName;
+            this.astStatistics = astStatistics;
+            this.outputName = outputName;
+            this.runTime = runTime;
+            this.stageTimes = new TreeMap<>(stageTimes);
+            this.failure = failure;
+        }
+
+        @Override
+        public String toString() {
+            String status = failure != null ? "failed with " + failure : outputName == null ? "did not complete" : "ecorified to " + outputName;
+            return projectName + " " + status + " in " + runTime + " ms " + stageTimes;
+        }
+    }
+}
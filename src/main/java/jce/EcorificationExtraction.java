@@ -17,25 +17,37 @@ import jce.properties.EcorificationProperties;
  */
 public class EcorificationExtraction extends EcoreMetamodelExtraction {
     private static final String DATATYPE_PACKAGE = "datatypes";
-    private static final String SAVING_STRATEGY = "CopyProject";
+    private static final String COPY_STRATEGY = "CopyProject";
+    private static final String SAME_PROJECT_STRATEGY = "SameProject";
 
     /**
      * Basic constructor. Takes the {@link EcorificationProperties} to configure the extraction.
      * @param properties are the {@link ExtractionProperties}.
      */
     public EcorificationExtraction(EcorificationProperties properties) {
-        configure(properties.get(PROJECT_SUFFIX), properties.get(ECORE_PACKAGE), properties.get(ROOT_CONTAINER));
+        this(properties, true);
+    }
+
+    /**
+     * Constructor that allows to disable the copying of the extracted project. This is used when the project was
+     * already cloned before the extraction, then the metamodel is saved in the extracted project itself.
+     * @param properties are the {@link ExtractionProperties}.
+     * @param copyProject specifies whether the extraction copies the project (CopyProject saving strategy).
+     */
+    public EcorificationExtraction(EcorificationProperties properties, boolean copyProject) {
+        String savingStrategy = copyProject ? COPY_STRATEGY : SAME_PROJECT_STRATEGY;
+        configure(properties.get(PROJECT_SUFFIX), properties.get(ECORE_PACKAGE), properties.get(ROOT_CONTAINER), savingStrategy);
     }
 
     /**
      * Configures the extraction properties. JCE Properties are referenced directly, EME properties are referenced witht
      * the class name.
      */
-    private void configure(String projectSuffix, String defaultPackage, String rootName) {
+    private void configure(String projectSuffix, String defaultPackage, String rootName, String savingStrategy) {
         getProperties().set(TextProperty.PROJECT_SUFFIX, projectSuffix);
         getProperties().set(TextProperty.DEFAULT_PACKAGE, defaultPackage);
         getProperties().set(TextProperty.ROOT_NAME, rootName);
-        getProperties().set(TextProperty.SAVING_STRATEGY, SAVING_STRATEGY);
+        getProperties().set(TextProperty.SAVING_STRATEGY, savingStrategy);
         getProperties().set(TextProperty.DATATYPE_PACKAGE, DATATYPE_PACKAGE);
         getProperties().set(BinaryProperty.DUMMY_CLASS, false);
         getProperties().set(BinaryProperty.ROOT_CONTAINER, true);
@@ -0,0 +1,126 @@
+package jce;
+
+import java.util.Map;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.swt.widgets.Display;
+
+import jce.util.jdt.ASTStatistics;
+
+/**
+ * Background job that runs the ecorification pipeline for a Java project. The job is cancellable and reports the
+ * pipeline steps in the Progress view. It declares no scheduling rule, because the output project is only known after
+ * the extraction: The extraction and the build acquire the rules they need, the pipeline steps in between hold the rule
+ * of the workspace root one step at a time, see {@link JavaCodeEcorification#ecorify(IProject, IProgressMonitor)}.
+ * This means the workspace is only locked while the output project is refactored, not during the whole run.
+ * @author Timur Saglam
+ */
+public class EcorificationJob extends Job {
+    private static final Logger logger = LogManager.getLogger(EcorificationJob.class.getName());
+    private static final String PLUGIN_ID = "JavaCodeEcorification";
+    private final JavaCodeEcorification ecorification;
+    private Throwable failure;
+    private final boolean notifyUser;
+    private final IProject originalProject;
+    private IProject outputProject;
+    private long runTime;
+
+    /**
+     * Basic constructor, creates the job for an origin project. The user is notified when the job is complete.
+     * @param originalProject is the Java project to ecorify.
+     */
+    public EcorificationJob(IProject originalProject) {
+        this(originalProject, true);
+    }
+
+    /**
+     * Creates the job for an origin project, optionally without notifying the user, e.g. for one of multiple
+     * concurrent runs.
+     * @param originalProject is the Java project to ecorify.
+     * @param notifyUser specifies whether the user is notified when the job is complete.
+     */
+    public EcorificationJob(IProject originalProject, boolean notifyUser) {
+        super("Ecorification of " + originalProject.getName());
+        this.originalProject = originalProject;
+        this.notifyUser = notifyUser;
+        ecorification = new JavaCodeEcorification(); // isolated state per run
+        setUser(notifyUser);
+    }
+
+    /**
+     * Returns the parse and edit statistics of the run.
+     * @return the {@link ASTStatistics} or null if the run did not start.
+     */
+    public ASTStatistics getASTStatistics() {
+        return ecorification.getASTStatistics();
+    }
+
+    /**
+     * Returns the failure of the run.
+     * @return the exception or null if the run did not fail.
+     */
+    public Throwable getFailure() {
+        return failure;
+    }
+
+    /**
+     * Returns the origin project of the job.
+     * @return the origin {@link IProject}.
+     */
+    public IProject getOriginalProject() {
+        return originalProject;
+    }
+
+    /**
+     * Returns the output project of the run.
+     * @return the output {@link IProject} or null if the run did not complete.
+     */
+    public IProject getOutputProject() {
+        return outputProject;
+    }
+
+    /**
+     * Returns the duration of the run in milliseconds.
+     * @return the duration.
+     */
+    public long getRunTime() {
+        return runTime;
+    }
+
+    /**
+     * Returns the durations of the pipeline steps of the run, see {@link JavaCodeEcorification#getStageTimes()}.
+     * @return the map of step numbers to durations.
+     */
+    public Map<Integer, Long> getStageTimes() {
+        return ecorification.getStageTimes();
+    }
+
+    @Override
+    protected IStatus run(IProgressMonitor monitor) {
+        long startTime = System.currentTimeMillis();
+        try {
+            outputProject = ecorification.ecorify(originalProject, monitor);
+            if (notifyUser) {
+                Display.getDefault().asyncExec(() -> JavaCodeEcorification.notifyUser(outputProject));
+            }
+            return Status.OK_STATUS;
+        } catch (OperationCanceledException exception) {
+            failure = exception;
+            logger.warn("Ecorification of " + originalProject.getName() + " was canceled.");
+            return Status.CANCEL_STATUS;
+        } catch (RuntimeException exception) {
+            failure = exception;
+            logger.fatal("Ecorification of " + originalProject.getName() + " failed!", exception);
+            return new Status(IStatus.ERROR, PLUGIN_ID, "Ecorification of " + originalProject.getName() + " failed!", exception);
+        } finally {
+            runTime = System.currentTimeMillis() - startTime;
+        }
+    }
+}
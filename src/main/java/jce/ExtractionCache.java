@@ -0,0 +1,254 @@
+package jce;
+
+import static jce.properties.TextProperty.SOURCE_FOLDER;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.generator.saving.SavingInformation;
+import jce.properties.BinaryProperty;
+import jce.properties.EcorificationProperties;
+import jce.properties.TextProperty;
+import jce.util.MetamodelPersistence;
+import jce.util.ProjectCloner;
+
+/**
+ * Persistent cache for the results of the first ecorification step: The extracted metamodel, the intermediate model
+ * and the output project with the generated GenModel and Ecore model code. The cache is keyed by a hash of the content
+ * of the source folder of the origin project and the relevant {@link EcorificationProperties}. A matching key allows
+ * skipping the extraction and the EMF code generation. The snapshot is restored into a new output project like a new
+ * extraction would create it. Metamodels whose intermediate model is not serializable are not cached.
+ * @author Timur Saglam
+ */
+public class ExtractionCache {
+    private static final Logger logger = LogManager.getLogger(ExtractionCache.class.getName());
+    private static final String CACHE_FOLDER = ".metadata/.plugins/JavaCodeEcorification/cache";
+    private static final String INFORMATION_FILE = "cache.properties";
+    private static final String MODEL_FILE = "intermediate.model";
+    private static final String SNAPSHOT_FOLDER = "project";
+    private static final String KEY = "Key";
+    private static final String FILE_NAME = "FileName";
+    private static final String FILE_PATH = "FilePath";
+    private static final String PROJECT_NAME = "ProjectName";
+    private static final Set<TextProperty> TEXT_KEY_PROPERTIES = EnumSet.complementOf(EnumSet.of(TextProperty.PARALLEL_RUNS, TextProperty.LOG_BUFFER_SIZE));
+    private static final Set<BinaryProperty> BINARY_KEY_PROPERTIES = EnumSet.of(BinaryProperty.ORIGIN_UNIQUENESS, BinaryProperty.LOADED_PACKAGE_INITIALIZATION);
+    private final Path cacheDirectory;
+    private final EcorificationProperties properties;
+    private final IWorkspace workspace;
+
+    /**
+     * Basic constructor, sets the properties.
+     * @param properties are the {@link EcorificationProperties}.
+     */
+    public ExtractionCache(EcorificationProperties properties) {
+        this.properties = properties;
+        workspace = ResourcesPlugin.getWorkspace();
+        cacheDirectory = workspace.getRoot().getLocation().append(CACHE_FOLDER).toFile().toPath();
+    }
+
+    /**
+     * Checks whether the cache is enabled in the {@link EcorificationProperties}.
+     * @return true if it is enabled.
+     */
+    public boolean isEnabled() {
+        return properties.get(BinaryProperty.EXTRACTION_CACHE);
+    }
+
+    /**
+     * Tries to restore the result of the first ecorification step for an origin project. Restoring is only possible if
+     * the cache key matches. The snapshot is restored into a new output project, existing projects are never changed.
+     * If the project of the cached run still exists, a number is appended to the name like for a new extraction.
+     * @param originalProject is the origin {@link IProject}.
+     * @return the restored {@link GeneratedEcoreMetamodel} or null if the cache could not be used.
+     */
+    public GeneratedEcoreMetamodel restore(IProject originalProject) {
+        Path directory = cacheDirectory.resolve(originalProject.getName());
+        Properties information = readInformation(directory);
+        String key = computeKey(originalProject, properties, BINARY_KEY_PROPERTIES);
+        if (information == null || key == null || !key.equals(information.getProperty(KEY))) {
+            logger.info("Extraction cache miss for " + originalProject.getName());
+            return null;
+        }
+        String cachedName = information.getProperty(PROJECT_NAME);
+        IProject project = ProjectCloner.findFreeProject(workspace, cachedName);
+        Path location = workspace.getRoot().getLocation().append(project.getName()).toFile().toPath();
+        try {
+            ProjectCloner.copy(directory.resolve(SNAPSHOT_FOLDER), location);
+            String filePath = location.resolve(information.getProperty(FILE_PATH)).toString() + File.separator;
+            String fileName = information.getProperty(FILE_NAME);
+            if (!cachedName.equals(project.getName())) {
+                renameGenModelProject(Paths.get(filePath, fileName + ".genmodel"), cachedName, project.getName());
+            }
+            register(project, location);
+            GeneratedEcoreMetamodel metamodel = MetamodelPersistence.load(directory.resolve(MODEL_FILE), filePath, fileName);
+            logger.info("Extraction cache hit, restored " + project.getName());
+            return metamodel;
+        } catch (IOException | UncheckedIOException | CoreException | ClassNotFoundException exception) {
+            logger.error("Could not restore the extraction cache of " + originalProject.getName(), exception);
+            if (!project.exists()) {
+                deleteQuietly(location); // keeps the project name free
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Stores the result of the first ecorification step for an origin project. This includes a snapshot of the output
+     * project with the metamodel, the GenModel and the generated model code.
+     * @param originalProject is the origin {@link IProject}.
+     * @param metamodel is the {@link GeneratedEcoreMetamodel} that was extracted from the origin project.
+     * @param project is the output {@link IProject} after the EMF code generation.
+     */
+    public void store(IProject originalProject, GeneratedEcoreMetamodel metamodel, IProject project) {
+        String key = computeKey(originalProject, properties, BINARY_KEY_PROPERTIES);
+        if (key == null) {
+            return; // could never be restored
+        }
+        if (!MetamodelPersistence.isSerializable(metamodel.getIntermediateModel())) {
+            logger.warn("Extraction cache is not supported, the intermediate model of " + originalProject.getName() + " is not serializable.");
+            return;
+        }
+        Path directory = cacheDirectory.resolve(originalProject.getName());
+        SavingInformation savingInformation = metamodel.getSavingInformation();
+        Path location = project.getLocation().toFile().toPath();
+        try {
+            ProjectCloner.delete(directory);
+            ProjectCloner.copy(location, directory.resolve(SNAPSHOT_FOLDER));
+            MetamodelPersistence.writeIntermediateModel(metamodel.getIntermediateModel(), directory.resolve(MODEL_FILE));
+            Properties information = new Properties();
+            information.setProperty(KEY, key);
+            information.setProperty(PROJECT_NAME, project.getName());
+            information.setProperty(FILE_NAME, savingInformation.getFileName());
+            information.setProperty(FILE_PATH, location.relativize(Paths.get(savingInformation.getFilePath())).toString());
+            try (OutputStream output = Files.newOutputStream(directory.resolve(INFORMATION_FILE))) {
+                information.store(output, "Extraction cache of " + originalProject.getName());
+            }
+            logger.info("Stored extraction cache of " + originalProject.getName());
+        } catch (IOException | UncheckedIOException exception) {
+            logger.warn("Could not store the extraction cache of " + originalProject.getName(), exception);
+            deleteQuietly(directory);
+        }
+    }
+
+    /**
+     * Computes the key of the extraction results of an origin project. The key is a hash of the content of the source
+     * folder, the naming and generation properties and the given binary properties. Properties that do not change the
+     * results, like the logging properties, are not part of the key.
+     * @param originalProject is the origin {@link IProject}.
+     * @param properties are the {@link EcorificationProperties} of the run.
+     * @param binaryProperties are the binary properties that change the results, see {@link #getKeyProperties()}.
+     * @return the key or null if it could not be computed.
+     */
+    static String computeKey(IProject originalProject, EcorificationProperties properties, Set<BinaryProperty> binaryProperties) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (TextProperty property : TEXT_KEY_PROPERTIES) {
+                digest.update((property.getKey() + '=' + properties.get(property) + '\n').getBytes());
+            }
+            for (BinaryProperty property : binaryProperties) {
+                digest.update((property.getKey() + '=' + properties.get(property) + '\n').getBytes());
+            }
+            Path sourceFolder = originalProject.getFolder(properties.get(SOURCE_FOLDER)).getLocation().toFile().toPath();
+            List<Path> files;
+            try (Stream<Path> stream = Files.walk(sourceFolder)) {
+                files = stream.filter(Files::isRegularFile).sorted().collect(Collectors.toList());
+            }
+            for (Path file : files) { // hash relative path and content of every file
+                digest.update(sourceFolder.relativize(file).toString().getBytes());
+                digest.update(Files.readAllBytes(file));
+            }
+            StringBuilder key = new StringBuilder();
+            for (byte value : digest.digest()) {
+                key.append(String.format("%02x", value));
+            }
+            return key.toString();
+        } catch (NoSuchAlgorithmException | IOException exception) {
+            logger.error("Could not compute extraction cache key!", exception);
+            return null;
+        }
+    }
+
+    /**
+     * Returns the binary properties that change the results of the extraction and the EMF code generation.
+     * @return a modifiable copy of the properties.
+     */
+    static Set<BinaryProperty> getKeyProperties() {
+        return EnumSet.copyOf(BINARY_KEY_PROPERTIES);
+    }
+
+    /**
+     * Reads the cache information file or returns null if there is none.
+     */
+    private Properties readInformation(Path directory) {
+        Path file = directory.resolve(INFORMATION_FILE);
+        if (Files.exists(file)) {
+            Properties information = new Properties();
+            try (InputStream input = Files.newInputStream(file)) {
+                information.load(input);
+                return information;
+            } catch (IOException exception) {
+                logger.warn("Could not read extraction cache information.", exception);
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Creates and opens a workspace project for a restored project folder.
+     */
+    private void register(IProject project, Path location) throws CoreException {
+        IPath descriptionPath = new org.eclipse.core.runtime.Path(location.resolve(".project").toString());
+        IProjectDescription description = workspace.loadProjectDescription(descriptionPath);
+        description.setName(project.getName());
+        description.setLocation(null); // default location in the workspace root
+        project.create(description, new NullProgressMonitor());
+        project.open(new NullProgressMonitor());
+    }
+
+    /**
+     * Adapts the model directory and the plug-in ID of a restored GenModel to the name of the restored project.
+     */
+    private void renameGenModelProject(Path genModelFile, String oldName, String newName) throws IOException {
+        String content = new String(Files.readAllBytes(genModelFile), StandardCharsets.UTF_8);
+        content = content.replace("modelDirectory=\"/" + oldName + "/", "modelDirectory=\"/" + newName + "/");
+        content = content.replace("modelPluginID=\"" + oldName + "\"", "modelPluginID=\"" + newName + "\"");
+        Files.write(genModelFile, content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Deletes a file tree and logs failures instead of throwing them.
+     */
+    private void deleteQuietly(Path root) {
+        try {
+            ProjectCloner.delete(root);
+        } catch (IOException exception) {
+            logger.warn("Could not delete " + root, exception);
+        }
+    }
+}
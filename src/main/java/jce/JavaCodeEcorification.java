@@ -1,5 +1,10 @@
 package jce;
 
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 import org.eclipse.core.resources.IProject;
@@ -8,6 +13,11 @@ import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.core.runtime.jobs.ISchedulingRule;
+import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.emf.codegen.ecore.genmodel.GenModel;
 import org.eclipse.jface.dialogs.MessageDialog;
 import org.eclipse.swt.widgets.Shell;
@@ -20,20 +30,33 @@ import jce.codemanipulation.ImportOrganizer;
 import jce.codemanipulation.ecore.EcoreImportManipulator;
 import jce.codemanipulation.ecore.FactoryImplementationRenamer;
 import jce.codemanipulation.ecore.FactoryRenamer;
+import jce.codemanipulation.ecore.ImplementationInheritanceManipulator;
 import jce.codemanipulation.ecore.PackageImplFactoryCorrector;
+import jce.codemanipulation.ecore.PrimitiveListManipulator;
 import jce.codemanipulation.origin.ClassExposer;
 import jce.codemanipulation.origin.DefaultConstructorGenerator;
 import jce.codemanipulation.origin.FieldEncapsulator;
 import jce.codemanipulation.origin.InheritanceManipulator;
 import jce.codemanipulation.origin.MemberRemover;
+import jce.generators.BenchmarkGenerator;
 import jce.generators.EcoreFactoryGenerator;
 import jce.generators.GenModelGenerator;
 import jce.generators.ModelCodeGenerator;
 import jce.generators.WrapperGenerator;
 import jce.generators.XtendLibraryHelper;
+import jce.properties.BinaryProperty;
 import jce.properties.EcorificationProperties;
+import jce.properties.TextProperty;
+import jce.util.ProjectCloner;
 import jce.util.ResourceRefresher;
+import jce.util.jdt.ASTStatistics;
+import jce.util.jdt.ASTUtil;
+import jce.util.jdt.PackageIndex;
+import jce.util.jdt.TypeIndex;
+import jce.util.logging.AsyncLogSink;
+import jce.util.logging.ChangeTrace;
 import jce.util.logging.MonitorFactory;
+import jce.util.logging.TraceAnalyzer;
 
 /**
  * Main class for Java code ecorification.
@@ -41,10 +64,17 @@ import jce.util.logging.MonitorFactory;
  */
 public class JavaCodeEcorification {
     private static final Logger logger = LogManager.getLogger(JavaCodeEcorification.class.getName());
+    private static final String TRACE_FOLDER = ".metadata/.plugins/JavaCodeEcorification/traces";
+    private static final int TRACE_TOP_UNITS = 10;
+    private ASTStatistics astStatistics;
+    private final ExtractionCache extractionCache;
+    private final boolean flatWrappers;
     private final GenModelGenerator genModelGenerator;
     private final ImportOrganizer importOrganizer;
     private final EcoreMetamodelExtraction metamodelGenerator;
     private final EcorificationProperties properties;
+    private final Map<Integer, Long> stageTimes;
+    private final boolean javaWrappers;
     private final WrapperGenerator wrapperGenerator;
 
     /**
@@ -52,29 +82,113 @@ public class JavaCodeEcorification {
      */
     public JavaCodeEcorification() {
         properties = new EcorificationProperties();
-        metamodelGenerator = new EcorificationExtraction(properties);
+        metamodelGenerator = new EcorificationExtraction(properties, !properties.get(BinaryProperty.FAST_PROJECT_CLONING));
         genModelGenerator = new GenModelGenerator(properties);
         wrapperGenerator = new WrapperGenerator(properties);
         importOrganizer = new ImportOrganizer(properties);
+        extractionCache = new ExtractionCache(properties);
+        stageTimes = new TreeMap<>();
+        flatWrappers = properties.get(BinaryProperty.FLAT_WRAPPERS);
+        javaWrappers = properties.get(BinaryProperty.JAVA_WRAPPERS);
     }
 
     /**
      * Starts the ecorification for a specific Java project. Initializes the
      * different steps of the Ecorification pipeline: The extraction of an Ecore
      * metamodel, the Ecore model code generation, the wrapper generation and the
-     * origin code adaption.
+     * origin code adaption. Notifies the user when the ecorification is complete.
      * @param originalProject is the specific Java project as {@link IProject}.
      */
     public void start(IProject originalProject) {
+        notifyUser(ecorify(originalProject));
+    }
+
+    /**
+     * Runs the ecorification pipeline for a specific Java project without any user
+     * interaction. All state of the run is kept in this instance, which means
+     * separate instances can ecorify different projects concurrently.
+     * @param originalProject is the specific Java project as {@link IProject}.
+     * @return the output {@link IProject} that contains the ecorified code.
+     */
+    public IProject ecorify(IProject originalProject) {
+        return ecorify(originalProject, new NullProgressMonitor());
+    }
+
+    /**
+     * Runs the ecorification pipeline for a specific Java project without any user
+     * interaction and reports the progress of the pipeline steps. Between two steps
+     * the run checks for cancellation. The steps 2 to 5 hold the rule of the
+     * workspace root, because their refactorings and project refreshes lock it.
+     * The rule is released between the steps, which lets builds and other
+     * {@link Job}s run in between.
+     * @param originalProject is the specific Java project as {@link IProject}.
+     * @param monitor is the {@link IProgressMonitor} for the progress reporting.
+     * @return the output {@link IProject} that contains the ecorified code.
+     * @throws OperationCanceledException if the run was canceled.
+     */
+    public IProject ecorify(IProject originalProject, IProgressMonitor monitor) {
+        SubMonitor progress = SubMonitor.convert(monitor, "Ecorification of " + originalProject.getName(), 6);
         SourceFolderAnalyzer.verify(originalProject, properties); // 0. initialize:
-        logger.info("Starting Ecorification...");
-        GeneratedEcoreMetamodel metamodel = extractMetamodel(originalProject); // 1
+        logger.info("Starting Ecorification of " + originalProject.getName() + "...");
+        stageTimes.clear();
+        astStatistics = ASTUtil.startStatistics();
+        advance(progress, "Extracting the Ecore metamodel");
+        long startTime = System.currentTimeMillis();
+        PipelineCheckpoint checkpoint = new PipelineCheckpoint(properties);
+        GeneratedEcoreMetamodel resumedMetamodel = checkpoint.resume(originalProject);
+        GeneratedEcoreMetamodel metamodel = resumedMetamodel == null ? extractMetamodel(originalProject) : resumedMetamodel; // 1
         IProject project = getProject(metamodel.getSavingInformation()); // 1.5. Retrieve output project
-        buildFactories(metamodel, project); // 2.
-        generateWrappers(metamodel, project); // 3.
-        manipulateEcoreImports(metamodel, project); // 4.
-        adaptOriginCode(metamodel, project); // 5.
-        finish(project); // 6.
+        stageTimes.put(1, System.currentTimeMillis() - startTime);
+        checkpoint.initialize(originalProject, metamodel, project);
+        TypeIndex typeIndex = new TypeIndex(project); // built on first use, after the factories are renamed
+        PackageIndex.open(project); // shared by all code manipulators of this run
+        openChangeTrace(project);
+        ISchedulingRule stepRule = ResourcesPlugin.getWorkspace().getRoot(); // refactorings and project refreshes need it
+        try {
+            runStep(2, "Building the factories", progress, checkpoint, stepRule, () -> buildFactories(metamodel, project));
+            chooseWrappers(metamodel, typeIndex); // also for resumed runs, step 3 and 4 depend on it
+            runStep(3, "Generating the wrappers", progress, checkpoint, stepRule, () -> generateWrappers(metamodel, project, typeIndex));
+            runStep(4, "Adapting the Ecore code", progress, checkpoint, stepRule, () -> manipulateEcoreImports(metamodel, project, typeIndex));
+            runStep(5, "Adapting the origin code", progress, checkpoint, stepRule, () -> adaptOriginCode(metamodel, project));
+            boolean compiles = verify(project);
+            advance(progress, "Rebuilding " + project.getName());
+            startTime = System.currentTimeMillis();
+            finish(project); // 6.
+            stageTimes.put(6, System.currentTimeMillis() - startTime);
+            if (!compiles) {
+                logger.error("The ecorified code of " + project.getName() + " does not compile, no benchmark project is generated.");
+            } else if (properties.get(BinaryProperty.BENCHMARK_PROJECT)) { // compares the runtime overhead with the original code
+                new BenchmarkGenerator(properties).generate(metamodel, originalProject, project);
+            }
+        } finally {
+            PackageIndex.close(project);
+            closeChangeTrace();
+        }
+        AsyncLogSink.flushInstance(); // write the pending detail messages before the summary
+        checkpoint.clear();
+        typeIndex.logStatistics();
+        logger.info("Parsed compilation units per parse mode: " + astStatistics.getParseStatistics());
+        logger.info("Applied source edits: " + astStatistics.getEditStatistics());
+        progress.done();
+        return project;
+    }
+
+    /**
+     * Returns the parse and edit statistics of the last run.
+     * @return the {@link ASTStatistics} or null if there was no run.
+     */
+    public ASTStatistics getASTStatistics() {
+        return astStatistics;
+    }
+
+    /**
+     * Returns the durations of the pipeline steps of the last run in milliseconds,
+     * mapped by the number of the step. Skipped steps of a resumed run are not
+     * contained.
+     * @return the map of step numbers to durations.
+     */
+    public Map<Integer, Long> getStageTimes() {
+        return Collections.unmodifiableMap(stageTimes);
     }
 
     /**
@@ -90,6 +204,20 @@ public class JavaCodeEcorification {
         new InheritanceManipulator(metamodel.getIntermediateModel(), properties).manipulate(project);
     }
 
+    /**
+     * Chooses the wrapper kind of the run. Flattened wrappers fall back to Java wrappers if the Ecore implementation
+     * classes cannot be moved below their origin super classes.
+     */
+    private void chooseWrappers(GeneratedEcoreMetamodel metamodel, TypeIndex typeIndex) {
+        properties.set(BinaryProperty.FLAT_WRAPPERS, flatWrappers); // reset the fallback of a previous run
+        properties.set(BinaryProperty.JAVA_WRAPPERS, javaWrappers);
+        if (flatWrappers && !new ImplementationInheritanceManipulator(metamodel, typeIndex, properties).isApplicable()) {
+            logger.warn("Flattened wrappers are not possible for " + metamodel.getRoot().getName() + ", using Java wrappers instead.");
+            properties.set(BinaryProperty.FLAT_WRAPPERS, false);
+            properties.set(BinaryProperty.JAVA_WRAPPERS, true);
+        }
+    }
+
     /**
      * 2. Builds the custom Ecore factories, while renaming the old ones.
      */
@@ -102,35 +230,85 @@ public class JavaCodeEcorification {
         new ClassExposer(metamodel.getIntermediateModel(), properties).manipulate(project);
     }
 
+    /**
+     * 0.5. Clones the original {@link IProject} with the {@link ProjectCloner} if
+     * fast project cloning is enabled. Otherwise the extraction copies the project
+     * itself and the original project is returned.
+     */
+    private IProject cloneProject(IProject originalProject) {
+        if (properties.get(BinaryProperty.FAST_PROJECT_CLONING)) {
+            IProject clone = ProjectCloner.clone(originalProject, properties.get(TextProperty.PROJECT_SUFFIX));
+            if (clone != null) {
+                return clone;
+            }
+            throw new IllegalStateException("Could not clone project " + originalProject.getName());
+        }
+        return originalProject;
+    }
+
     /**
      * 1. Extracts a Ecore metamodel in form of an {@link GeneratedEcoreMetamodel}
-     * from the original {@link IProject}. Generates a {@link GenModel}.
+     * from the original {@link IProject}. Generates a {@link GenModel}. Uses the
+     * {@link ExtractionCache} if it is enabled.
      */
     private GeneratedEcoreMetamodel extractMetamodel(IProject originalProject) {
-        GeneratedEcoreMetamodel metamodel = metamodelGenerator.extract(originalProject);
+        if (extractionCache.isEnabled()) {
+            GeneratedEcoreMetamodel cachedMetamodel = extractionCache.restore(originalProject);
+            if (cachedMetamodel != null) {
+                return cachedMetamodel; // skip extraction and code generation
+            }
+        }
+        GeneratedEcoreMetamodel metamodel = metamodelGenerator.extract(cloneProject(originalProject));
         GenModel genModel = genModelGenerator.generate(metamodel);
         ModelCodeGenerator.generate(genModel, properties);
+        if (extractionCache.isEnabled()) {
+            extractionCache.store(originalProject, metamodel, getProject(metamodel.getSavingInformation()));
+        }
         return metamodel;
     }
 
     /**
-     * 6. Finishes the ecorification: Organizes all imports, rebuilds the project
-     * and notifies the user.
+     * 6. Finishes the ecorification: Organizes all imports and rebuilds the
+     * project.
      */
     private void finish(IProject project) {
         importOrganizer.manipulate(project);
         rebuild(project, properties);
-        notifyUser(project);
     }
 
     /**
      * 3. Generates the wrappers, which are the classes that unify the origin code
-     * with the Ecore code.
+     * with the Ecore code. Plain and flattened Java wrappers do not need the Xtend
+     * dependencies.
      */
-    private void generateWrappers(GeneratedEcoreMetamodel metamodel, IProject project) {
-        XtendLibraryHelper.addXtendLibs(project, properties);
+    private void generateWrappers(GeneratedEcoreMetamodel metamodel, IProject project, TypeIndex typeIndex) {
+        if (!properties.get(BinaryProperty.JAVA_WRAPPERS) && !properties.get(BinaryProperty.FLAT_WRAPPERS)) {
+            XtendLibraryHelper.addXtendLibs(project, properties);
+        }
         ResourceRefresher.refresh(project);
-        wrapperGenerator.buildWrappers(metamodel, project);
+        wrapperGenerator.buildWrappers(metamodel, project, typeIndex);
+    }
+
+    /**
+     * Opens a change trace for the run if it is enabled in the properties. The
+     * trace is written into the plug-in folder of the workspace metadata.
+     */
+    private void openChangeTrace(IProject project) {
+        if (properties.get(BinaryProperty.CHANGE_TRACE)) {
+            String fileName = project.getName() + "-" + System.currentTimeMillis() + ".jsonl";
+            ChangeTrace.open(ResourcesPlugin.getWorkspace().getRoot().getLocation().append(TRACE_FOLDER).append(fileName).toFile().toPath());
+        }
+    }
+
+    /**
+     * Closes the change trace of the run, if there is one, and logs its analysis.
+     */
+    private void closeChangeTrace() {
+        Path traceFile = ChangeTrace.close();
+        if (traceFile != null) {
+            logger.info("Wrote change trace to " + traceFile);
+            logger.info(TraceAnalyzer.analyze(traceFile, TRACE_TOP_UNITS));
+        }
     }
 
     /**
@@ -151,16 +329,26 @@ public class JavaCodeEcorification {
     /**
      * 4. Manipulates the imports of the Ecore code. Every Ecore interface and every
      * correlating implementation class will use the origin code types instead of
-     * ecore code types.
+     * ecore code types. For flattened wrappers, the implementation classes of
+     * subclasses are moved below their origin super classes. Lists of primitive
+     * values are optionally replaced with primitive lists.
      */
-    private void manipulateEcoreImports(GeneratedEcoreMetamodel metamodel, IProject project) {
-        new EcoreImportManipulator(metamodel, properties).manipulate(project); // 4. adapt imports
+    private void manipulateEcoreImports(GeneratedEcoreMetamodel metamodel, IProject project, TypeIndex typeIndex) {
+        new EcoreImportManipulator(metamodel, typeIndex, properties).manipulate(project); // 4. adapt imports
+        if (properties.get(BinaryProperty.FLAT_WRAPPERS)) {
+            new ImplementationInheritanceManipulator(metamodel, typeIndex, properties).manipulate(project);
+        }
+        if (properties.get(BinaryProperty.PRIMITIVE_LISTS)) {
+            new PrimitiveListManipulator(properties).manipulate(project);
+        }
     }
 
     /**
-     * Tells the user the ecorification of an {@link IProject} is complete.
+     * Tells the user the ecorification of an {@link IProject} is complete. Needs to
+     * be called from the UI thread.
+     * @param project is the output {@link IProject}.
      */
-    private void notifyUser(IProject project) {
+    static void notifyUser(IProject project) {
         Shell shell = PlatformUI.getWorkbench().getActiveWorkbenchWindow().getShell();
         String title = "Ecorification complete!";
         String message = "Ecorification of complete! The ecorified code can be found in the project " + project.getName();
@@ -169,15 +357,66 @@ public class JavaCodeEcorification {
     }
 
     /**
-     * Tries to build the project.
+     * Tries to build the project. Logs the build time and the heap usage, which allows comparing the Xtend wrappers with
+     * the Java wrappers.
      */
     private void rebuild(IProject project, EcorificationProperties properties) {
         ResourceRefresher.refresh(project);
         IProgressMonitor monitor = MonitorFactory.createProgressMonitor(logger, properties);
+        Runtime runtime = Runtime.getRuntime();
+        long startTime = System.currentTimeMillis();
         try {
             project.build(IncrementalProjectBuilder.FULL_BUILD, monitor);
         } catch (CoreException exception) {
             logger.error(exception);
         }
+        long usedHeap = (runtime.totalMemory() - runtime.freeMemory()) / (1024 * 1024);
+        String wrapperKind = properties.get(BinaryProperty.FLAT_WRAPPERS) ? "flattened" : properties.get(BinaryProperty.JAVA_WRAPPERS) ? "Java" : "Xtend";
+        logger.info("Build with " + wrapperKind + " wrappers took " + (System.currentTimeMillis() - startTime) + " ms, heap in use: " + usedHeap + " MB");
+    }
+
+    /**
+     * Verifies the ecorified code before the full build, if the in-memory verification is enabled. Xtend wrappers are
+     * not verified, because their Java code is only generated by the build.
+     * @return false if the verification found compilation errors.
+     */
+    private boolean verify(IProject project) {
+        if (properties.get(BinaryProperty.IN_MEMORY_VERIFICATION)) { // detects failing runs before the full build
+            if (properties.get(BinaryProperty.JAVA_WRAPPERS) || properties.get(BinaryProperty.FLAT_WRAPPERS)) {
+                return new CompilationVerifier().verify(project);
+            }
+            logger.info("In-memory verification skipped, the Java code of the Xtend wrappers is generated by the build.");
+        }
+        return true;
+    }
+
+    /**
+     * Starts the next pipeline stage: Checks for cancellation and reports the stage
+     * name.
+     */
+    private void advance(SubMonitor progress, String stageName) {
+        progress.split(1); // throws OperationCanceledException if canceled
+        progress.subTask(stageName);
+    }
+
+    /**
+     * Runs a numbered pipeline step unless it was already completed in a resumed run, then writes its checkpoint. The
+     * step holds a scheduling rule, which is released between the steps.
+     */
+    private void runStep(int step, String stageName, SubMonitor progress, PipelineCheckpoint checkpoint, ISchedulingRule rule, Runnable stage) {
+        advance(progress, stageName);
+        if (checkpoint.isPending(step)) {
+            long startTime = System.currentTimeMillis();
+            Job.getJobManager().beginRule(rule, progress.newChild(0));
+            try {
+                stage.run();
+            } finally {
+                Job.getJobManager().endRule(rule);
+            }
+            stageTimes.put(step, System.currentTimeMillis() - startTime);
+            checkpoint.reached(step);
+        } else {
+            logger.info("Skipping step " + step + ", it was completed before the checkpoint.");
+        }
     }
-}
\ No newline at end of file
+}
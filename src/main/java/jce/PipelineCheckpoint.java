@@ -0,0 +1,253 @@
+package jce;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Properties;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.ResourcesPlugin;
+
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.generator.saving.SavingInformation;
+import jce.properties.BinaryProperty;
+import jce.properties.EcorificationProperties;
+import jce.util.MetamodelPersistence;
+import jce.util.ProjectCloner;
+import jce.util.ResourceRefresher;
+
+/**
+ * Checkpoints for the numbered steps of the ecorification pipeline. After every completed step, the checkpoint stores
+ * a stage marker, the serialized intermediate model, a snapshot of the output project and a manifest of that snapshot.
+ * A later run for the same origin project can resume after the last completed step if neither the source folder of the
+ * origin project nor the properties changed: The output project is reset to the snapshot and the metamodel is loaded
+ * from it.
+ * @author Timur Saglam
+ */
+public class PipelineCheckpoint {
+    private static final Logger logger = LogManager.getLogger(PipelineCheckpoint.class.getName());
+    private static final String CHECKPOINT_FOLDER = ".metadata/.plugins/JavaCodeEcorification/checkpoints";
+    private static final String INFORMATION_FILE = "checkpoint.properties";
+    private static final String MANIFEST_FILE = "manifest.txt";
+    private static final String MODEL_FILE = "intermediate.model";
+    private static final String SNAPSHOT_FOLDER = "project";
+    private static final String STEP = "Step";
+    private static final String FILE_NAME = "FileName";
+    private static final String FILE_PATH = "FilePath";
+    private static final String KEY = "Key";
+    private static final String PROJECT_NAME = "ProjectName";
+    private static final Set<BinaryProperty> PIPELINE_PROPERTIES = EnumSet.of(BinaryProperty.EXPOSE_CLASSES, BinaryProperty.JAVA_WRAPPERS,
+            BinaryProperty.FLAT_WRAPPERS, BinaryProperty.LAZY_ECORE_IMPLEMENTATION, BinaryProperty.PRIMITIVE_LISTS);
+    private final boolean enabled;
+    private final Path checkpointRoot;
+    private final EcorificationProperties properties;
+    private int completedStep;
+    private boolean failed;
+    private Path directory;
+    private String key;
+    private GeneratedEcoreMetamodel metamodel;
+    private IProject project;
+
+    /**
+     * Basic constructor, sets the properties.
+     * @param properties are the {@link EcorificationProperties}.
+     */
+    public PipelineCheckpoint(EcorificationProperties properties) {
+        this.properties = properties;
+        enabled = properties.get(BinaryProperty.CHECKPOINTS);
+        checkpointRoot = ResourcesPlugin.getWorkspace().getRoot().getLocation().append(CHECKPOINT_FOLDER).toFile().toPath();
+    }
+
+    /**
+     * Tries to resume the pipeline for an origin project from its last checkpoint. If this is possible, the output
+     * project is reset to the state after the last completed step. Checkpoints of a different source folder content or
+     * different properties are not used.
+     * @param originalProject is the origin {@link IProject}.
+     * @return the {@link GeneratedEcoreMetamodel} of the checkpoint, or null if the pipeline has to start from scratch.
+     */
+    public GeneratedEcoreMetamodel resume(IProject originalProject) {
+        completedStep = 0;
+        if (!enabled) {
+            return null;
+        }
+        directory = checkpointRoot.resolve(originalProject.getName());
+        Properties information = readInformation();
+        if (information == null) {
+            return null;
+        }
+        key = computeKey(originalProject);
+        if (key == null || !key.equals(information.getProperty(KEY))) {
+            logger.info("Checkpoint of " + originalProject.getName() + " is outdated, the origin project or the properties changed.");
+            return null;
+        }
+        IProject outputProject = ResourcesPlugin.getWorkspace().getRoot().getProject(information.getProperty(PROJECT_NAME));
+        try {
+            Path snapshot = directory.resolve(SNAPSHOT_FOLDER);
+            if (!outputProject.exists() || !readManifest().equals(createManifest(snapshot))) {
+                logger.warn("Checkpoint of " + originalProject.getName() + " is incomplete and cannot be used.");
+                return null;
+            }
+            Path location = outputProject.getLocation().toFile().toPath();
+            ProjectCloner.delete(location); // reset the output project to the checkpoint
+            ProjectCloner.copy(snapshot, location);
+            ResourceRefresher.refresh(outputProject);
+            String filePath = location.resolve(information.getProperty(FILE_PATH)).toString() + File.separator;
+            String fileName = information.getProperty(FILE_NAME);
+            metamodel = MetamodelPersistence.load(directory.resolve(MODEL_FILE), filePath, fileName);
+            completedStep = Integer.parseInt(information.getProperty(STEP));
+            logger.info("Resuming ecorification of " + originalProject.getName() + " after step " + completedStep);
+            return metamodel;
+        } catch (IOException | UncheckedIOException | ClassNotFoundException | NumberFormatException exception) {
+            logger.error("Could not resume from checkpoint of " + originalProject.getName(), exception);
+            completedStep = 0;
+            return null;
+        }
+    }
+
+    /**
+     * Starts the checkpointing of a pipeline run after the first step (the extraction) is completed. Writes the first
+     * checkpoint unless the run was resumed from a checkpoint.
+     * @param originalProject is the origin {@link IProject}.
+     * @param metamodel is the extracted {@link GeneratedEcoreMetamodel}.
+     * @param project is the output {@link IProject}.
+     */
+    public void initialize(IProject originalProject, GeneratedEcoreMetamodel metamodel, IProject project) {
+        this.metamodel = metamodel;
+        this.project = project;
+        directory = checkpointRoot.resolve(originalProject.getName());
+        if (enabled && key == null) { // not computed by resume if there was no checkpoint
+            key = computeKey(originalProject);
+        }
+        if (completedStep == 0) {
+            reached(1);
+        }
+    }
+
+    /**
+     * Checks whether a step still has to be executed, which means it was not completed in a resumed run.
+     * @param step is the number of the step.
+     * @return true if it has to be executed.
+     */
+    public boolean isPending(int step) {
+        return step > completedStep;
+    }
+
+    /**
+     * Writes the checkpoint for a completed step. If a checkpoint cannot be written, checkpointing is disabled for the
+     * rest of the run, because later checkpoints could not be resumed either.
+     * @param step is the number of the completed step.
+     */
+    public void reached(int step) {
+        completedStep = step;
+        if (!enabled || failed || key == null) { // a checkpoint without key could never be resumed
+            return;
+        }
+        if (step == 1 && !MetamodelPersistence.isSerializable(metamodel.getIntermediateModel())) {
+            disable("the intermediate model is not serializable", null);
+            return;
+        }
+        long startTime = System.currentTimeMillis();
+        SavingInformation savingInformation = metamodel.getSavingInformation();
+        Path location = project.getLocation().toFile().toPath();
+        Path snapshot = directory.resolve(SNAPSHOT_FOLDER);
+        try {
+            ResourceRefresher.refresh(project);
+            Files.deleteIfExists(directory.resolve(INFORMATION_FILE)); // invalidate old checkpoint first
+            ProjectCloner.delete(snapshot);
+            ProjectCloner.copy(location, snapshot);
+            Files.write(directory.resolve(MANIFEST_FILE), createManifest(snapshot));
+            if (step == 1) { // the intermediate model does not change after the extraction
+                MetamodelPersistence.writeIntermediateModel(metamodel.getIntermediateModel(), directory.resolve(MODEL_FILE));
+            }
+            Properties information = new Properties();
+            information.setProperty(STEP, Integer.toString(step));
+            information.setProperty(KEY, key);
+            information.setProperty(PROJECT_NAME, project.getName());
+            information.setProperty(FILE_NAME, savingInformation.getFileName());
+            information.setProperty(FILE_PATH, location.relativize(Paths.get(savingInformation.getFilePath())).toString());
+            try (OutputStream output = Files.newOutputStream(directory.resolve(INFORMATION_FILE))) {
+                information.store(output, "Ecorification checkpoint"); // written last, marks the checkpoint as complete
+            }
+            logger.info("Wrote checkpoint for step " + step + " in " + (System.currentTimeMillis() - startTime) + " ms");
+        } catch (IOException | UncheckedIOException exception) {
+            disable("could not write checkpoint for step " + step, exception);
+        }
+    }
+
+    /**
+     * Removes the checkpoint after the pipeline has been completed.
+     */
+    public void clear() {
+        if (enabled && directory != null) {
+            try {
+                ProjectCloner.delete(directory);
+            } catch (IOException exception) {
+                logger.warn("Could not remove checkpoint " + directory, exception);
+            }
+        }
+    }
+
+    /**
+     * Computes the key of the checkpoint, which includes the properties of the extraction and the pipeline steps.
+     */
+    private String computeKey(IProject originalProject) {
+        Set<BinaryProperty> keyProperties = ExtractionCache.getKeyProperties();
+        keyProperties.addAll(PIPELINE_PROPERTIES);
+        return ExtractionCache.computeKey(originalProject, properties, keyProperties);
+    }
+
+    /**
+     * Disables the checkpointing for the rest of the run and removes the incomplete checkpoint.
+     */
+    private void disable(String reason, Exception exception) {
+        logger.warn("Checkpoints disabled for " + project.getName() + ", " + reason, exception);
+        failed = true;
+        clear();
+    }
+
+    /**
+     * Creates the manifest of a file tree, which lists the relative path and size of every file.
+     */
+    private List<String> createManifest(Path root) throws IOException {
+        try (Stream<Path> stream = Files.walk(root)) {
+            return stream.filter(Files::isRegularFile).sorted().map(file -> root.relativize(file) + " " + file.toFile().length())
+                    .collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * Reads the stored manifest of the snapshot.
+     */
+    private List<String> readManifest() throws IOException {
+        return Files.readAllLines(directory.resolve(MANIFEST_FILE));
+    }
+
+    /**
+     * Reads the checkpoint information file or returns null if there is no complete checkpoint.
+     */
+    private Properties readInformation() {
+        Path file = directory.resolve(INFORMATION_FILE);
+        if (Files.exists(file)) {
+            Properties information = new Properties();
+            try (InputStream input = Files.newInputStream(file)) {
+                information.load(input);
+                return information;
+            } catch (IOException exception) {
+                logger.warn("Could not read checkpoint information.", exception);
+            }
+        }
+        return null;
+    }
+}
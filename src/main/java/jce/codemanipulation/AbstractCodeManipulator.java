@@ -15,6 +15,8 @@ import jce.properties.EcorificationProperties;
 import jce.util.PathHelper;
 import jce.util.ResourceRefresher;
 import jce.util.jdt.PackageFilter;
+import jce.util.logging.ChangeTrace;
+import jce.util.logging.LazyLog;
 import jce.util.logging.MonitorFactory;
 
 /**
@@ -58,14 +60,22 @@ public abstract class AbstractCodeManipulator {
      * @param project is the given {@link IProject}.
      */
     public void manipulate(IProject project) {
-        logger.info("Starting " + getClass().getSimpleName() + "...");
+        LazyLog.info(logger, () -> "Starting " + getClass().getSimpleName() + "...");
         ResourceRefresher.refresh(project);
         List<IPackageFragment> packages = filterPackages(project, properties);
+        ChangeTrace.beginStage(getClass().getSimpleName());
         try {
             for (IPackageFragment fragment : packages) {
                 if (fragment.getKind() == IPackageFragmentRoot.K_SOURCE) {
                     for (ICompilationUnit unit : fragment.getCompilationUnits()) {
-                        manipulate(unit);
+                        if (ChangeTrace.isActive()) { // avoids reading the source without a trace
+                            ChangeTrace.beginUnit(getPackageMemberName(unit), unit.getSource().length());
+                        }
+                        try {
+                            manipulate(unit);
+                        } finally {
+                            ChangeTrace.endUnit();
+                        }
                     }
                 }
             }
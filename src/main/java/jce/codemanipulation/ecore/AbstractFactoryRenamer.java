@@ -17,6 +17,7 @@ import jce.properties.TextProperty;
 import jce.util.EcoreUtil;
 import jce.util.PathHelper;
 import jce.util.jdt.RefactoringUtil;
+import jce.util.logging.LazyLog;
 
 /**
  * Abstract code manipulator that renames the original factories.
@@ -119,7 +120,9 @@ public abstract class AbstractFactoryRenamer extends AbstractCodeManipulator {
             String newName = nameUtil.cutLastSegment(name) + properties.get(FACTORY_SUFFIX); // new name of class
             newName = nameUtil.append(newName, nameUtil.getLastSegment(name)); // add file extension
             rename(unit, newName);
-            monitor.beginTask("Renamed factory: " + getPackageMemberName(unit), 0);
+            if (LazyLog.isDetailed(monitor)) {
+                monitor.beginTask("Renamed factory: " + getPackageMemberName(unit), 0);
+            }
         }
     }
 }
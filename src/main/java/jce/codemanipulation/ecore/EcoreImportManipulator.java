@@ -2,14 +2,10 @@ package jce.codemanipulation.ecore;
 
 import java.util.Arrays;
 
-import org.eclipse.core.resources.IProject;
 import org.eclipse.emf.ecore.EClass;
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.IImportDeclaration;
-import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.core.IPackageFragment;
-import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
@@ -20,6 +16,8 @@ import jce.properties.EcorificationProperties;
 import jce.properties.TextProperty;
 import jce.util.EcoreUtil;
 import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
+import jce.util.jdt.TypeIndex;
 
 /**
  * Base class for the adaption of problematic import declarations in the Ecore code. A problematic import declaration is
@@ -32,22 +30,18 @@ import jce.util.jdt.ASTUtil;
  */
 public class EcoreImportManipulator extends AbstractCodeManipulator {
     private final GeneratedEcoreMetamodel metamodel;
-    private IJavaProject project;
+    private final TypeIndex typeIndex;
 
     /**
      * Simple constructor that sets the properties.
      * @param metamodel is the extracted Ecore metamodel. It is needed to decide which imports to manipulate.
+     * @param typeIndex is the {@link TypeIndex} of the project, which is used to find the Ecore types.
      * @param properties are the {@link EcorificationProperties}.
      */
-    public EcoreImportManipulator(GeneratedEcoreMetamodel metamodel, EcorificationProperties properties) {
+    public EcoreImportManipulator(GeneratedEcoreMetamodel metamodel, TypeIndex typeIndex, EcorificationProperties properties) {
         super(properties.get(TextProperty.ECORE_PACKAGE), properties);
         this.metamodel = metamodel;
-    }
-
-    @Override
-    public void manipulate(IProject project) {
-        this.project = JavaCore.create(project); // makes the project instance available in this class.
-        super.manipulate(project);
+        this.typeIndex = typeIndex;
     }
 
     /**
@@ -59,7 +53,7 @@ public class EcoreImportManipulator extends AbstractCodeManipulator {
      */
     private void addQualifiedNamesToTypeReferences(ICompilationUnit unit, String typeName) throws JavaModelException {
         ASTVisitor visitor = new TypeManipulationVisitor(typeName);
-        ASTUtil.applyVisitorModifications(unit, visitor, monitor);
+        ASTUtil.applyVisitorModifications(unit, visitor, ParseMode.SYNTAX, monitor);
     }
 
     /**
@@ -68,7 +62,7 @@ public class EcoreImportManipulator extends AbstractCodeManipulator {
      */
     private void applyRetentionVisitor(ICompilationUnit unit, IImportDeclaration[] imports) throws JavaModelException {
         ASTVisitor visitor = new TypeRetentionVisitor(unit, imports);
-        ASTUtil.applyVisitorModifications(unit, visitor, monitor);
+        ASTUtil.applyVisitorModifications(unit, visitor, ParseMode.SYNTAX, monitor);
     }
 
     /**
@@ -76,11 +70,11 @@ public class EcoreImportManipulator extends AbstractCodeManipulator {
      */
     private ICompilationUnit findEcoreImplementation(ICompilationUnit unit) throws JavaModelException {
         String implementationName = getImplementationName(getPackageMemberName(unit));
-        IType iType = project.findType(implementationName);
-        if (iType == null) {
+        ICompilationUnit implementation = typeIndex.findUnit(implementationName);
+        if (implementation == null) {
             return unit; // return original, better than nothing TODO (HIGH) make this more elegant
         }
-        return iType.getCompilationUnit();
+        return implementation;
     }
 
     /**
@@ -88,8 +82,7 @@ public class EcoreImportManipulator extends AbstractCodeManipulator {
      */
     private ICompilationUnit findEcoreInterface(ICompilationUnit unit) throws JavaModelException {
         String interfaceName = getInterfaceName(getPackageMemberName(unit));
-        IType iType = project.findType(interfaceName);
-        return iType.getCompilationUnit();
+        return typeIndex.findUnit(interfaceName);
     }
 
     /**
@@ -7,6 +7,7 @@ import org.eclipse.jdt.core.JavaModelException
 
 import static extension jce.util.PathHelper.capitalize
 import jce.util.jdt.ASTUtil
+import jce.util.jdt.ParseMode
 import org.eclipse.jdt.core.ICompilationUnit
 
 /**
@@ -49,7 +50,7 @@ class FactoryImplementationRenamer extends AbstractFactoryRenamer {
 	 */
 	override manipulate(ICompilationUnit unit) {
 		if (isRelevantEcoreFactoryClassifier(unit)) {
-			ASTUtil.applyVisitorModifications(unit, new FactoryInitMethodCorrectionVisitor(), monitor);
+			ASTUtil.applyRewriteVisitor(unit, new FactoryInitMethodCorrectionVisitor(), ParseMode.SYNTAX, monitor);
 			unit.commitWorkingCopy(true, monitor);
 			unit.discardWorkingCopy();
 		}
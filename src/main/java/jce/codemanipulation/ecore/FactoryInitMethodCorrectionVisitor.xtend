@@ -1,14 +1,15 @@
 package jce.codemanipulation.ecore
 
-import org.eclipse.jdt.core.dom.ASTVisitor
+import jce.util.jdt.RewriteVisitor
+import org.eclipse.jdt.core.dom.ASTNode
 import org.eclipse.jdt.core.dom.MethodDeclaration
 import org.eclipse.jdt.core.dom.ReturnStatement
 
 /**
- * {@link ASTVisitor} class that manipulates the init method of original Ecore factories in the generated code.
+ * {@link RewriteVisitor} class that manipulates the init method of original Ecore factories in the generated code.
  * @author Heiko Klare
  */
-class FactoryInitMethodCorrectionVisitor extends ASTVisitor {
+class FactoryInitMethodCorrectionVisitor extends RewriteVisitor {
 	static final String FACTORY_INIT_METHOD_NAME = "init";
 	
 	/**
@@ -17,7 +18,7 @@ class FactoryInitMethodCorrectionVisitor extends ASTVisitor {
 	 */
 	override boolean visit(MethodDeclaration node) {
 		if (node.name.toString == FACTORY_INIT_METHOD_NAME) {
-			node.body.statements.removeIf[!(it instanceof ReturnStatement)]
+			node.body.statements.filter[!(it instanceof ReturnStatement)].forEach[remove(it as ASTNode)]
 		}
 		return true;
 	}
@@ -0,0 +1,200 @@
+package jce.codemanipulation.ecore;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EClass;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.jdt.core.Flags;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IMethod;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.ITypeHierarchy;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
+
+import eme.generator.GeneratedEcoreMetamodel;
+import jce.codemanipulation.AbstractCodeManipulator;
+import jce.generators.ConstructorGenerator;
+import jce.generators.ConstructorRepresentation;
+import jce.properties.EcorificationProperties;
+import jce.properties.TextProperty;
+import jce.util.EcoreUtil;
+import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
+import jce.util.jdt.TypeIndex;
+
+/**
+ * Moves the Ecore implementation classes of subclasses below their origin super classes, which is needed for the
+ * flattened wrappers. A flattened wrapper extends the Ecore implementation class of its EClass. If the EClass has a
+ * super class, the wrapper must still be a subtype of the origin super class, which is why the implementation class
+ * extends the origin super class instead of the implementation class of the super class. The origin super class in turn
+ * extends its own flattened wrapper, which means the inherited Ecore features are retained. This is not possible if an
+ * origin super class is abstract and leaves methods unimplemented, see {@link #isApplicable()}.
+ * @author Timur Saglam
+ */
+public class ImplementationInheritanceManipulator extends AbstractCodeManipulator {
+    private final GeneratedEcoreMetamodel metamodel;
+    private final TypeIndex typeIndex;
+    private final Map<String, Boolean> unimplementedMethods;
+
+    /**
+     * Simple constructor that sets the properties.
+     * @param metamodel is the extracted Ecore metamodel. It is needed to find the super classes.
+     * @param typeIndex is the {@link TypeIndex} of the project, which is used to find the origin super classes.
+     * @param properties are the {@link EcorificationProperties}.
+     */
+    public ImplementationInheritanceManipulator(GeneratedEcoreMetamodel metamodel, TypeIndex typeIndex, EcorificationProperties properties) {
+        super(properties.get(TextProperty.ECORE_PACKAGE), properties);
+        this.metamodel = metamodel;
+        this.typeIndex = typeIndex;
+        unimplementedMethods = new HashMap<>();
+    }
+
+    /**
+     * Checks whether all Ecore implementation classes can be moved below their origin super classes. An implementation
+     * class does not implement the abstract methods of its origin super class, which means it would not compile if the
+     * origin super class is abstract and leaves methods unimplemented.
+     * @return true if the implementation classes can be moved.
+     */
+    public boolean isApplicable() {
+        for (TreeIterator<EObject> iterator = metamodel.getRoot().eAllContents(); iterator.hasNext();) {
+            EObject element = iterator.next();
+            EClass superClass = element instanceof EClass ? getSuperClass((EClass) element) : null;
+            if (superClass != null && leavesMethodsUnimplemented(getOriginName(superClass))) {
+                logger.warn("Cannot flatten " + ((EClass) element).getName() + ", its origin super class " + superClass.getName()
+                        + " has unimplemented methods.");
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    protected void manipulate(ICompilationUnit unit) throws JavaModelException {
+        EClass eClass = findImplementedEClass(unit);
+        EClass superClass = eClass == null ? null : getSuperClass(eClass);
+        if (superClass != null) {
+            String superClassName = getOriginName(superClass);
+            List<ConstructorRepresentation> constructors = ConstructorGenerator.generate(superClassName, typeIndex, properties);
+            ImplementationInheritanceVisitor visitor = new ImplementationInheritanceVisitor(superClassName, constructors, properties);
+            ASTUtil.applyRewriteVisitor(unit, visitor, ParseMode.SYNTAX, monitor);
+            ImportRewrite importRewrite = ImportRewrite.create(unit, true);
+            for (ConstructorRepresentation constructor : constructors) {
+                constructor.getImports().forEach(importRewrite::addImport); // parameter types of the new constructors
+            }
+            ASTUtil.applyImportRewrite(unit, importRewrite, monitor);
+        }
+    }
+
+    /**
+     * Returns the EClass of an Ecore implementation class, or null if the unit is no Ecore implementation class.
+     */
+    private EClass findImplementedEClass(ICompilationUnit unit) throws JavaModelException {
+        String typeName = nameUtil.cutFirstSegment(getPackageMemberName(unit)); // e.g. "model.impl.MainImpl"
+        if (nameUtil.getLastSegment(nameUtil.cutLastSegment(typeName)).equals("impl") && typeName.endsWith("Impl")) {
+            String interfaceName = nameUtil.append(nameUtil.cutLastSegments(typeName, 2), nameUtil.getLastSegment(typeName));
+            return EcoreUtil.findEClass(interfaceName.substring(0, interfaceName.length() - 4), metamodel.getRoot());
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether a type or one of its super types has an abstract method, that is not implemented by the type or
+     * one of its super classes.
+     */
+    private boolean hasUnimplementedMethods(IType type) throws JavaModelException {
+        if (!Flags.isAbstract(type.getFlags())) {
+            return false;
+        }
+        ITypeHierarchy hierarchy = type.newSupertypeHierarchy(monitor);
+        List<IType> classes = new ArrayList<>();
+        classes.add(type);
+        classes.addAll(Arrays.asList(hierarchy.getAllSuperclasses(type)));
+        List<IType> superTypes = new ArrayList<>(classes);
+        superTypes.addAll(Arrays.asList(hierarchy.getAllSuperInterfaces(type)));
+        for (IType superType : superTypes) {
+            for (IMethod method : superType.getMethods()) {
+                if (isAbstract(method, superType) && !isImplemented(method, classes)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether a method of a type is abstract. Interface methods are implicitly abstract unless they are default
+     * or static methods.
+     */
+    private boolean isAbstract(IMethod method, IType type) throws JavaModelException {
+        int flags = method.getFlags();
+        if (type.isInterface()) {
+            return !Flags.isDefault(flags) && !Flags.isStatic(flags);
+        }
+        return Flags.isAbstract(flags);
+    }
+
+    /**
+     * Checks whether one of the classes implements a method.
+     */
+    private boolean isImplemented(IMethod method, List<IType> classes) throws JavaModelException {
+        for (IType type : classes) {
+            IMethod[] candidates = type.findMethods(method);
+            if (candidates != null) {
+                for (IMethod candidate : candidates) {
+                    if (!Flags.isAbstract(candidate.getFlags())) {
+                        return true;
+                    }
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether an origin class leaves methods unimplemented. The results are cached, because an origin class can
+     * have multiple subclasses.
+     */
+    private boolean leavesMethodsUnimplemented(String originName) {
+        return unimplementedMethods.computeIfAbsent(originName, name -> {
+            IType type = typeIndex.findType(name);
+            try {
+                return type != null && hasUnimplementedMethods(type);
+            } catch (JavaModelException exception) {
+                logger.error("Could not analyze the methods of " + name, exception);
+                return true; // flattening is not safe
+            }
+        });
+    }
+
+    /**
+     * Returns the fully qualified name of the origin code class of an EClass.
+     */
+    private String getOriginName(EClass eClass) {
+        String name = eClass.getName();
+        EPackage current = eClass.getEPackage();
+        while (current != null && current.getESuperPackage() != null) { // the root package is the Ecore package
+            name = nameUtil.append(current.getName(), name);
+            current = current.getESuperPackage();
+        }
+        return name;
+    }
+
+    /**
+     * Returns the super class of an EClass or null if it has none.
+     */
+    private EClass getSuperClass(EClass eClass) {
+        for (EClass superType : eClass.getESuperTypes()) {
+            if (!superType.isInterface()) {
+                return superType;
+            }
+        }
+        return null;
+    }
+}
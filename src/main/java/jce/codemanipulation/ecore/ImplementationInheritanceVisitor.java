@@ -0,0 +1,72 @@
+package jce.codemanipulation.ecore;
+
+import java.util.List;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
+
+import jce.generators.ConstructorRepresentation;
+import jce.properties.EcorificationProperties;
+import jce.util.jdt.RewriteVisitor;
+import jce.util.logging.LazyLog;
+import jce.util.logging.MonitorFactory;
+
+/**
+ * {@link RewriteVisitor} that replaces the super class of an Ecore implementation class with the origin code super
+ * class. The type arguments of the old super class are retained. Additionally, a constructor is added for every
+ * constructor of the origin super class, which allows the flattened wrappers to call them.
+ * @author Timur Saglam
+ */
+public class ImplementationInheritanceVisitor extends RewriteVisitor {
+    private static final Logger logger = LogManager.getLogger(ImplementationInheritanceVisitor.class.getName());
+    private final List<ConstructorRepresentation> constructors;
+    private final IProgressMonitor monitor;
+    private final String superClassName;
+
+    /**
+     * Basic constructor.
+     * @param superClassName is the fully qualified name of the origin super class.
+     * @param constructors are the constructors of the origin super class.
+     * @param properties are the Ecorification properties.
+     */
+    public ImplementationInheritanceVisitor(String superClassName, List<ConstructorRepresentation> constructors, EcorificationProperties properties) {
+        this.superClassName = superClassName;
+        this.constructors = constructors;
+        monitor = MonitorFactory.createProgressMonitor(logger, properties);
+    }
+
+    @Override
+    public boolean visit(TypeDeclaration node) {
+        if (node.isPackageMemberTypeDeclaration() && node.getSuperclassType() != null) {
+            replaceSuperclass(node.getSuperclassType(), node.getAST());
+            ListRewrite bodyRewrite = getListRewrite(node, TypeDeclaration.BODY_DECLARATIONS_PROPERTY);
+            for (ConstructorRepresentation constructor : constructors) {
+                if (constructor.hasParameters()) { // the default constructor already exists
+                    String content = constructor.getPassThroughContent("protected", node.getName().getIdentifier());
+                    bodyRewrite.insertLast(getRewrite().createStringPlaceholder(content, ASTNode.METHOD_DECLARATION), null);
+                }
+            }
+            LazyLog.detail(monitor, () -> "Changed super class of " + node.getName().getIdentifier() + " to " + superClassName);
+        }
+        return false;
+    }
+
+    /**
+     * Replaces the super class type, or only its raw type if it is parameterized.
+     */
+    private void replaceSuperclass(Type superType, AST ast) {
+        Type newType = ast.newSimpleType(ast.newName(superClassName)); // qualified, avoids clashes with Ecore types
+        if (superType.isParameterizedType()) {
+            getRewrite().replace(((ParameterizedType) superType).getType(), newType, null);
+        } else {
+            getRewrite().replace(superType, newType, null);
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package jce.codemanipulation.ecore
 
 import jce.codemanipulation.AbstractCodeManipulator
+import jce.util.logging.LazyLog
 import org.eclipse.jdt.core.ICompilationUnit
 import org.eclipse.jdt.core.JavaModelException
 import jce.properties.EcorificationProperties
 import jce.properties.TextProperty
 import jce.util.jdt.ASTUtil
+import jce.util.jdt.ParseMode
 import jce.util.PathHelper
 import eme.generator.GeneratedEcoreMetamodel
 import static extension jce.util.EcoreUtil.*
@@ -41,10 +43,12 @@ class PackageImplFactoryCorrector extends AbstractCodeManipulator {
 		// All packages containing classes got new factories that have to be referenced in package classes
 		if (!package.classNames.empty) {
 			val visitor = new PackageImplFactoryCorrectionVisitor(unit, properties);
-			ASTUtil.applyVisitorModifications(unit, visitor, monitor);
+			ASTUtil.applyVisitorModifications(unit, visitor, ParseMode.SYNTAX, monitor);
 			unit.commitWorkingCopy(true, monitor);
 			unit.discardWorkingCopy;
-			monitor.beginTask("Corrected factory in: " + getPackageMemberName(unit), 0);
+			if (LazyLog.isDetailed(monitor)) {
+				monitor.beginTask("Corrected factory in: " + getPackageMemberName(unit), 0);
+			}
 		}
 	}
 	
@@ -0,0 +1,49 @@
+package jce.codemanipulation.ecore;
+
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.jdt.core.dom.rewrite.ImportRewrite;
+
+import jce.codemanipulation.AbstractCodeManipulator;
+import jce.generators.PrimitiveListRepresentation;
+import jce.properties.EcorificationProperties;
+import jce.properties.TextProperty;
+import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
+
+/**
+ * Makes the Ecore implementation classes store the values of multi-valued attributes of primitive types in primitive
+ * lists instead of data type lists of boxed values. The primitive lists are generated by the wrapper generator.
+ * @author Timur Saglam
+ */
+public class PrimitiveListManipulator extends AbstractCodeManipulator {
+    private static final String LIST_PACKAGE = "org.eclipse.emf.ecore.util";
+
+    /**
+     * Simple constructor that sets the properties.
+     * @param properties are the {@link EcorificationProperties}.
+     */
+    public PrimitiveListManipulator(EcorificationProperties properties) {
+        super(properties.get(TextProperty.ECORE_PACKAGE), properties);
+    }
+
+    @Override
+    protected void manipulate(ICompilationUnit unit) throws JavaModelException {
+        if (unit.getSource().contains("EDataType")) { // avoids parsing units without data type lists
+            PrimitiveListVisitor visitor = new PrimitiveListVisitor(properties);
+            ASTUtil.applyRewriteVisitor(unit, visitor, ParseMode.SYNTAX, monitor);
+            if (!visitor.getReplacedTypes().isEmpty()) {
+                ImportRewrite importRewrite = ImportRewrite.create(unit, true);
+                for (String boxedType : visitor.getReplacedTypes()) {
+                    importRewrite.addImport(nameUtil.append(properties.get(TextProperty.WRAPPER_PACKAGE), PrimitiveListRepresentation.getName(boxedType)));
+                }
+                for (String listName : PrimitiveListVisitor.DATA_TYPE_LISTS) {
+                    if (!visitor.getRemainingLists().contains(listName)) {
+                        importRewrite.removeImport(nameUtil.append(LIST_PACKAGE, listName)); // no longer used
+                    }
+                }
+                ASTUtil.applyImportRewrite(unit, importRewrite, monitor);
+            }
+        }
+    }
+}
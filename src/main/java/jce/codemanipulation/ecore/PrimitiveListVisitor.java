@@ -0,0 +1,107 @@
+package jce.codemanipulation.ecore;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.jdt.core.dom.AST;
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ClassInstanceCreation;
+import org.eclipse.jdt.core.dom.ParameterizedType;
+import org.eclipse.jdt.core.dom.SimpleType;
+import org.eclipse.jdt.core.dom.Type;
+import org.eclipse.jdt.core.dom.TypeLiteral;
+
+import jce.generators.PrimitiveListRepresentation;
+import jce.properties.EcorificationProperties;
+import jce.util.jdt.RewriteVisitor;
+import jce.util.logging.LazyLog;
+import jce.util.logging.MonitorFactory;
+
+/**
+ * {@link RewriteVisitor} that replaces the creation of data type lists of boxed primitive values with the creation of
+ * the matching primitive lists, e.g. <code>new EDataTypeUniqueEList&lt;Integer&gt;(Integer.class, this, ID)</code>
+ * with <code>new IntEList(this, ID)</code>.
+ * @author Timur Saglam
+ */
+public class PrimitiveListVisitor extends RewriteVisitor {
+    /**
+     * The simple names of the replaced data type list classes of EMF.
+     */
+    public static final List<String> DATA_TYPE_LISTS = Arrays.asList("EDataTypeEList", "EDataTypeUniqueEList");
+    private static final Logger logger = LogManager.getLogger(PrimitiveListVisitor.class.getName());
+    private final IProgressMonitor monitor;
+    private final Set<String> remainingLists;
+    private final Set<String> replacedTypes;
+
+    /**
+     * Basic constructor.
+     * @param properties are the Ecorification properties.
+     */
+    public PrimitiveListVisitor(EcorificationProperties properties) {
+        monitor = MonitorFactory.createProgressMonitor(logger, properties);
+        remainingLists = new HashSet<String>();
+        replacedTypes = new HashSet<String>();
+    }
+
+    /**
+     * Returns the simple names of the data type list classes that are still created after the replacement.
+     * @return the set of names.
+     */
+    public Set<String> getRemainingLists() {
+        return remainingLists;
+    }
+
+    /**
+     * Returns the simple names of the boxed types whose lists were replaced.
+     * @return the set of type names.
+     */
+    public Set<String> getReplacedTypes() {
+        return replacedTypes;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public boolean visit(ClassInstanceCreation node) {
+        String listName = getListName(node.getType());
+        if (DATA_TYPE_LISTS.contains(listName)) {
+            String boxedType = getBoxedType(node);
+            if (boxedType == null) {
+                remainingLists.add(listName);
+            } else {
+                AST ast = node.getAST();
+                ClassInstanceCreation creation = ast.newClassInstanceCreation();
+                creation.setType(ast.newSimpleType(ast.newSimpleName(PrimitiveListRepresentation.getName(boxedType))));
+                creation.arguments().add(getRewrite().createCopyTarget((ASTNode) node.arguments().get(1))); // owner
+                creation.arguments().add(getRewrite().createCopyTarget((ASTNode) node.arguments().get(2))); // feature ID
+                getRewrite().replace(node, creation, null);
+                replacedTypes.add(boxedType);
+                LazyLog.detail(monitor, () -> "Replaced " + node + " with " + creation);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the simple name of the raw type of a created type, or null if it is no simple type.
+     */
+    private String getListName(Type type) {
+        Type rawType = type.isParameterizedType() ? ((ParameterizedType) type).getType() : type;
+        return rawType.isSimpleType() ? ((SimpleType) rawType).getName().getFullyQualifiedName() : null;
+    }
+
+    /**
+     * Returns the boxed type of a data type list creation if it has a primitive list, or null if not.
+     */
+    private String getBoxedType(ClassInstanceCreation node) {
+        if (node.arguments().size() == 3 && node.arguments().get(0) instanceof TypeLiteral) {
+            String typeName = ((TypeLiteral) node.arguments().get(0)).getType().toString();
+            return PrimitiveListRepresentation.PRIMITIVES.containsKey(typeName) ? typeName : null;
+        }
+        return null;
+    }
+}
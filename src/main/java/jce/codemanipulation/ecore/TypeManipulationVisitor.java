@@ -11,6 +11,7 @@ import org.eclipse.jdt.core.dom.TypeParameter;
 
 import jce.util.PathHelper;
 import jce.util.RawTypeUtil;
+import jce.util.logging.LazyLog;
 
 /**
  * Visitor that replaces the Ecore types of method parameters and return types through their correlating origin code
@@ -49,7 +50,7 @@ public class TypeManipulationVisitor extends ASTVisitor {
         for (SingleVariableDeclaration parameter : RawTypeUtil.castList(SingleVariableDeclaration.class, method.parameters())) {
             if (isSelfReference(parameter.getType())) {
                 parameter.setType(createOriginType(method.getAST()));
-                logger.info("Manually changed type of parameter " + parameter.getName() + " to " + originType);
+                LazyLog.info(logger, () -> "Manually changed type of parameter " + parameter.getName() + " to " + originType);
             }
         }
     }
@@ -60,7 +61,7 @@ public class TypeManipulationVisitor extends ASTVisitor {
     private void checkReturnType(MethodDeclaration method) {
         if (isSelfReference(method.getReturnType2())) {
             method.setReturnType2(createOriginType(method.getAST()));
-            logger.info("Manually changed return type of method " + method.getName() + " to " + originType);
+            LazyLog.info(logger, () -> "Manually changed return type of method " + method.getName() + " to " + originType);
         }
     }
 
@@ -74,7 +75,7 @@ public class TypeManipulationVisitor extends ASTVisitor {
                 if (isSelfReference(bound)) {
                     bound.delete();
                     parameter.typeBounds().add(createOriginType(method.getAST()));
-                    logger.info("Manually changed bound of typ parameter " + parameter.getName() + " to " + originType);
+                    LazyLog.info(logger, () -> "Manually changed bound of typ parameter " + parameter.getName() + " to " + originType);
                 }
             }
         }
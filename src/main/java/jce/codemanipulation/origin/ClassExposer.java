@@ -9,6 +9,7 @@ import jce.properties.BinaryProperty;
 import jce.properties.EcorificationProperties;
 import jce.properties.TextProperty;
 import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
 
 /**
  * Changes the visibility of default types and default inner classes of the
@@ -32,7 +33,7 @@ public class ClassExposer extends AbstractCodeManipulator {
     @Override
     protected void manipulate(ICompilationUnit unit) throws JavaModelException {
         if (properties.get(BinaryProperty.EXPOSE_CLASSES) && model.isTypeSelected(getPackageMemberName(unit))) { // only apply on origin type in scope
-            ASTUtil.applyVisitorModifications(unit, new ClassExpositionVisitor(properties), monitor);
+            ASTUtil.applyRewriteVisitor(unit, new ClassExpositionVisitor(properties), ParseMode.SYNTAX, monitor);
         }
     }
 }
\ No newline at end of file
@@ -5,23 +5,25 @@ import static org.eclipse.jdt.core.dom.Modifier.ModifierKeyword.PUBLIC_KEYWORD;
 import org.apache.log4j.LogManager;
 import org.apache.log4j.Logger;
 import org.eclipse.core.runtime.IProgressMonitor;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
 
 import jce.properties.EcorificationProperties;
 import jce.util.jdt.ModifierUtil;
+import jce.util.jdt.RewriteVisitor;
+import jce.util.logging.LazyLog;
 import jce.util.logging.MonitorFactory;
 
 /**
- * {@link ASTVisitor} that makes all hidden classes visible through changing the visibility to public. Hidden classes
+ * {@link RewriteVisitor} that makes all hidden classes visible through changing the visibility to public. Hidden classes
  * are classes that were only referenced from a certain scope in the original code, but are now referenced from a
  * different scope. These are either default classes which are now referenced from another package (because of the
  * package structure of the Ecore code) or default/private member classes that are now referenced from another class
  * (e.g. the Ecore interface or implementation class) or package.
  * @author Timur Saglam
  */
-public class ClassExpositionVisitor extends ASTVisitor {
+public class ClassExpositionVisitor extends RewriteVisitor {
     private static final Logger logger = LogManager.getLogger(ClassExpositionVisitor.class.getName());
     private IProgressMonitor monitor;
 
@@ -33,13 +35,13 @@ public class ClassExpositionVisitor extends ASTVisitor {
         monitor = MonitorFactory.createProgressMonitor(logger, properties);
     }
 
-    @SuppressWarnings("unchecked")
     @Override
     public boolean visit(TypeDeclaration node) {
         if (isHidden(node)) { // if should be exposed
-            Modifier removed = ModifierUtil.removeModifiers(node); // remove private and protected keywords
+            ListRewrite modifierRewrite = getModifierRewrite(node);
+            Modifier removed = ModifierUtil.removeModifiers(node, modifierRewrite); // remove private and protected keywords
             Modifier created = node.getAST().newModifier(PUBLIC_KEYWORD); // create public modifier
-            node.modifiers().add(created); // add to type declaration
+            modifierRewrite.insertLast(created, null); // add to type declaration
             log(node, removed, created);
         }
         return super.visit(node);
@@ -72,6 +74,9 @@ public class ClassExpositionVisitor extends ASTVisitor {
      * Logs the exposition of a type.
      */
     private void log(TypeDeclaration node, Modifier removed, Modifier created) {
+        if (!LazyLog.isDetailed(monitor)) {
+            return; // no string building without full logging
+        }
         String original = removed == null ? "default" : removed.toString(); // null modifier is logged as default
         String type = node.isMemberTypeDeclaration() ? "inner class" : "class"; // inner class or not
         String nodeName = node.getName().getFullyQualifiedName();
@@ -3,18 +3,19 @@ package jce.codemanipulation.origin;
 import static org.eclipse.jdt.core.dom.Modifier.ModifierKeyword.PUBLIC_KEYWORD;
 
 import org.eclipse.jdt.core.dom.AST;
-import org.eclipse.jdt.core.dom.ASTVisitor;
 import org.eclipse.jdt.core.dom.MethodDeclaration;
 import org.eclipse.jdt.core.dom.Modifier;
 import org.eclipse.jdt.core.dom.TypeDeclaration;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
 
 import jce.util.jdt.ModifierUtil;
+import jce.util.jdt.RewriteVisitor;
 
 /**
- * {@link ASTVisitor} that generates default constructors if they are missing.
+ * {@link RewriteVisitor} that generates default constructors if they are missing.
  * @author Timur Saglam
  */
-public class ConstructorGenerationVisitor extends ASTVisitor {
+public class ConstructorGenerationVisitor extends RewriteVisitor {
 
     @Override
     public boolean visit(TypeDeclaration node) {
@@ -39,19 +40,19 @@ public class ConstructorGenerationVisitor extends ASTVisitor {
         constructor.setName(ast.newSimpleName(node.getName().getIdentifier())); // set name
         constructor.setBody(ast.newBlock()); // add empty method body
         constructor.modifiers().add(ast.newModifier(PUBLIC_KEYWORD)); // make public
-        node.bodyDeclarations().add(constructor); // add to node
+        getListRewrite(node, TypeDeclaration.BODY_DECLARATIONS_PROPERTY).insertLast(constructor, null); // add to node
     }
 
     /**
      * Checks whether the default constructor of a {@link TypeDeclaration} is public, makes it public if it is not.
      */
-    @SuppressWarnings("unchecked")
     private void ensureVisibility(TypeDeclaration node) {
         MethodDeclaration constructor = getDefaultConstructor(node);
         if (!Modifier.isPublic(constructor.getModifiers())) {
-            ModifierUtil.removeModifiers(constructor);
+            ListRewrite modifierRewrite = getModifierRewrite(constructor);
+            ModifierUtil.removeModifiers(constructor, modifierRewrite);
             Modifier modifier = node.getAST().newModifier(PUBLIC_KEYWORD);
-            constructor.modifiers().add(modifier); // make public
+            modifierRewrite.insertLast(modifier, null); // make public
         }
     }
 
@@ -8,6 +8,7 @@ import jce.codemanipulation.AbstractCodeManipulator;
 import jce.properties.EcorificationProperties;
 import jce.properties.TextProperty;
 import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
 
 /**
  * This class generates default constructors for every class that does not
@@ -32,7 +33,7 @@ public class DefaultConstructorGenerator extends AbstractCodeManipulator {
     @Override
     protected void manipulate(ICompilationUnit unit) throws JavaModelException {
         if (model.isTypeSelected(getPackageMemberName(unit))) { // only apply on origin type in scope
-            ASTUtil.applyVisitorModifications(unit, new ConstructorGenerationVisitor(), monitor);
+            ASTUtil.applyRewriteVisitor(unit, new ConstructorGenerationVisitor(), ParseMode.SYNTAX, monitor);
         }
     }
 }
\ No newline at end of file
@@ -2,7 +2,7 @@ package jce.codemanipulation.origin;
 
 import org.eclipse.jdt.core.ICompilationUnit;
 import org.eclipse.jdt.core.JavaModelException;
-import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.ASTNode;
 import org.eclipse.jdt.core.dom.BodyDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.core.dom.FieldDeclaration;
@@ -15,6 +15,8 @@ import jce.codemanipulation.AbstractCodeManipulator;
 import jce.properties.EcorificationProperties;
 import jce.properties.TextProperty;
 import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
+import jce.util.jdt.RewriteVisitor;
 
 /**
  * Encapsulates the fields of the origin code. This is necessary for the removal
@@ -38,17 +40,17 @@ public class FieldEncapsulator extends AbstractCodeManipulator {
     @Override
     protected void manipulate(ICompilationUnit unit) throws JavaModelException {
         if (model.isTypeSelected(getPackageMemberName(unit))) { // only apply on origin type in scope
-            ASTUtil.applyVisitorModifications(unit, new FieldUnfinalizationVisitor(), monitor); // make fields not final
-            CompilationUnit parsedUnit = ASTUtil.parse(unit, monitor); // do not use applyVisitorModifications() here
+            ASTUtil.applyRewriteVisitor(unit, new FieldUnfinalizationVisitor(), ParseMode.SYNTAX, monitor); // make fields not final
+            CompilationUnit parsedUnit = ASTUtil.parse(unit, ParseMode.BINDINGS, monitor); // do not use applyVisitorModifications() here
             parsedUnit.accept(new FieldEncapsulationVisitor(properties)); // because refactorings are applied, not modifications
         }
     }
 
     /**
-     * {@link ASTVisitor} class that removes the modifier keyword final from all of
+     * {@link RewriteVisitor} class that removes the modifier keyword final from all of
      * its final fields.
      */
-    private class FieldUnfinalizationVisitor extends ASTVisitor {
+    private class FieldUnfinalizationVisitor extends RewriteVisitor {
         @Override
         public boolean visit(TypeDeclaration node) {
             if (!node.isInterface() && node.isPackageMemberTypeDeclaration()) { // if is class
@@ -72,7 +74,7 @@ public class FieldEncapsulator extends AbstractCodeManipulator {
                     finalModifier = modifier; // remember final modifier
                 }
             }
-            declaration.modifiers().remove(finalModifier); // remove keyword
+            getModifierRewrite(declaration).remove((ASTNode) finalModifier, null); // remove keyword
         }
     }
 }
\ No newline at end of file
@@ -19,6 +19,7 @@ import org.eclipse.jdt.core.dom.TypeParameter;
 import jce.properties.EcorificationProperties;
 import jce.util.PathHelper;
 import jce.util.RawTypeUtil;
+import jce.util.logging.LazyLog;
 import jce.util.logging.MonitorFactory;
 
 /**
@@ -63,7 +64,7 @@ public class InheritanceManipulationVisitor extends ASTVisitor {
     private void addEcoreInterface(TypeDeclaration node) {
         String name = nameUtil.append(properties.get(ECORE_PACKAGE), currentPackage, node.getName().getIdentifier());
         node.superInterfaceTypes().add(nameToType(node, name));
-        monitor.beginTask("Added Ecore super interface to " + node.getName().getIdentifier(), 0);
+        LazyLog.detail(monitor, () -> "Added Ecore super interface to " + node.getName().getIdentifier());
     }
 
     /**
@@ -100,7 +101,7 @@ public class InheritanceManipulationVisitor extends ASTVisitor {
     private void overrideSuperclass(TypeDeclaration node) {
         String name = nameUtil.append(properties.get(WRAPPER_PACKAGE), currentPackage, getWrapperName(node));
         node.setSuperclassType(nameToType(node, name));
-        monitor.beginTask("Changed super type of " + node.getName().getIdentifier(), 0);
+        LazyLog.detail(monitor, () -> "Changed super type of " + node.getName().getIdentifier());
     }
 
 }
\ No newline at end of file
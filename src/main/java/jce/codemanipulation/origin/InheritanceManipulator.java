@@ -9,6 +9,7 @@ import jce.codemanipulation.AbstractCodeManipulator;
 import jce.properties.EcorificationProperties;
 import jce.properties.TextProperty;
 import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
 
 /**
  * Changes the inheritance of the origin code to let the original classes
@@ -33,7 +34,7 @@ public class InheritanceManipulator extends AbstractCodeManipulator {
     protected void manipulate(ICompilationUnit unit) throws JavaModelException {
         if (model.isTypeSelected(getPackageMemberName(unit))) { // only apply on origin type in scope
             ASTVisitor visitor = new InheritanceManipulationVisitor(unit.getParent().getElementName(), properties);
-            ASTUtil.applyVisitorModifications(unit, visitor, monitor);
+            ASTUtil.applyVisitorModifications(unit, visitor, ParseMode.SYNTAX, monitor);
         }
     }
 }
\ No newline at end of file
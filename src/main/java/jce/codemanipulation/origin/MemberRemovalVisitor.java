@@ -17,6 +17,7 @@ import eme.generator.GeneratedEcoreMetamodel;
 import jce.properties.EcorificationProperties;
 import jce.util.EcoreUtil;
 import jce.util.PathHelper;
+import jce.util.logging.LazyLog;
 import jce.util.logging.MonitorFactory;
 
 /**
@@ -45,7 +46,7 @@ public class MemberRemovalVisitor extends ASTVisitor {
         if (!node.isInterface() && node.isPackageMemberTypeDeclaration()) { // if is class, manipulate inheritance:
             removeFields(node);
             removeAccessMethods(node);
-            monitor.beginTask("Removed fields with their access methods from " + node.getName().getIdentifier() + ": " + removedFields, 0);
+            LazyLog.detail(monitor, () -> "Removed fields with their access methods from " + node.getName().getIdentifier() + ": " + removedFields);
         }
         return super.visit(node);
     }
@@ -8,6 +8,7 @@ import jce.codemanipulation.AbstractCodeManipulator;
 import jce.properties.EcorificationProperties;
 import jce.properties.TextProperty;
 import jce.util.jdt.ASTUtil;
+import jce.util.jdt.ParseMode;
 
 /**
  * Removes all private non-static fields and their access methods from the
@@ -32,7 +33,7 @@ public class MemberRemover extends AbstractCodeManipulator {
     @Override
     protected void manipulate(ICompilationUnit unit) throws JavaModelException {
         if (metamodel.getIntermediateModel().isTypeSelected(getPackageMemberName(unit))) { // only apply on origin type in scope
-            ASTUtil.applyVisitorModifications(unit, new MemberRemovalVisitor(metamodel, properties), monitor);
+            ASTUtil.applyVisitorModifications(unit, new MemberRemovalVisitor(metamodel, properties), ParseMode.BINDINGS, monitor);
         }
     }
 }
\ No newline at end of file
@@ -0,0 +1,302 @@
+package jce.generators
+
+import eme.generator.GeneratedEcoreMetamodel
+import java.io.ByteArrayInputStream
+import java.util.List
+import jce.properties.EcorificationProperties
+import jce.util.PathHelper
+import jce.util.logging.LazyLog
+import jce.util.logging.MonitorFactory
+import org.apache.log4j.LogManager
+import org.apache.log4j.Logger
+import org.eclipse.core.resources.IProject
+import org.eclipse.core.resources.ResourcesPlugin
+import org.eclipse.core.runtime.IProgressMonitor
+import org.eclipse.emf.ecore.EClass
+import org.eclipse.emf.ecore.EPackage
+import org.eclipse.jdt.core.IJavaProject
+import org.eclipse.jdt.core.JavaCore
+
+import static jce.properties.TextProperty.GENERATION_PROFILE
+import static jce.properties.TextProperty.ROOT_CONTAINER
+import static jce.properties.TextProperty.SOURCE_FOLDER
+
+/**
+ * Generates a Maven project with JMH benchmarks next to the ecorified project. The benchmarks compare the runtime
+ * overhead of the ecorification: The same benchmark classes are compiled against the original code and against the
+ * ecorified code (with the Maven profiles "original" and "ecorified"), the Ecore operations are only benchmarked for the
+ * ecorified code.
+ * @author Timur Saglam
+ */
+final class BenchmarkGenerator {
+	static final Logger logger = LogManager.getLogger(BenchmarkGenerator.name)
+	static final String PROJECT_SUFFIX = "Benchmark"
+	static final String JMH_VERSION = "1.37"
+	extension final PathHelper pathUtil
+	extension final EcorificationProperties properties
+	final IProgressMonitor monitor
+
+	/**
+	 * Basic constructor, sets the properties.
+	 */
+	new(EcorificationProperties properties) {
+		this.properties = properties
+		monitor = MonitorFactory.createProgressMonitor(logger, properties)
+		pathUtil = new PathHelper('/')
+	}
+
+	/**
+	 * Generates the benchmark project of an ecorification.
+	 * @param metamodel is the metamodel that got extracted from the original project.
+	 * @param originalProject is the original project.
+	 * @param project is the output project of the ecorification.
+	 */
+	def void generate(GeneratedEcoreMetamodel metamodel, IProject originalProject, IProject project) {
+		val benchmarkProject = ResourcesPlugin.workspace.root.getProject(originalProject.name + PROJECT_SUFFIX)
+		if (benchmarkProject.exists) {
+			logger.error("Benchmark project " + benchmarkProject.name + " already exists and is not overwritten!")
+			return
+		}
+		logger.info("Generating the benchmark project " + benchmarkProject.name + "...")
+		benchmarkProject.create(monitor)
+		benchmarkProject.open(monitor)
+		val benchmarks = newArrayList
+		collectBenchmarks(metamodel.root, JavaCore.create(originalProject), benchmarks)
+		for (benchmark : benchmarks) {
+			val packagePath = benchmark.package.replace('.', '/')
+			createFile(benchmarkProject, append("src/main/java", packagePath), benchmark.name + ".java", benchmark.content)
+			createFile(benchmarkProject, append("src/ecorified/java", packagePath), benchmark.ecoreName + ".java", benchmark.ecoreContent)
+		}
+		createFile(benchmarkProject, "src/ecorified/java/benchmark", "PackageInitializationBenchmark.java", getPackageBenchmark(metamodel.root))
+		createFile(benchmarkProject, "", "pom.xml", getPom(benchmarkProject.name, originalProject, project))
+		createFile(benchmarkProject, "", "README.md", getReadme(benchmarks.size))
+		LazyLog.info(logger, ['''Generated benchmarks for «benchmarks.size» classes in «benchmarkProject.name»'''])
+	}
+
+	/**
+	 * Recursively collects the benchmarks of all EClasses whose original types can be benchmarked.
+	 */
+	def private void collectBenchmarks(EPackage ePackage, IJavaProject originalProject, List<BenchmarkRepresentation> benchmarks) {
+		for (eClass : ePackage.EClassifiers.filter(EClass).filter[!it.interface && !it.abstract && it.name != ROOT_CONTAINER.get]) {
+			val type = originalProject.findType(getOriginName(eClass))
+			if (BenchmarkRepresentation.isBenchmarkable(type)) {
+				benchmarks += new BenchmarkRepresentation(eClass, type)
+			}
+		}
+		ePackage.ESubpackages.forEach[collectBenchmarks(it, originalProject, benchmarks)]
+	}
+
+	/**
+	 * Returns the fully qualified name of the origin code class of an EClass.
+	 */
+	def private String getOriginName(EClass eClass) {
+		var String name = eClass.name
+		var EPackage current = eClass.EPackage
+		while (current !== null && current.ESuperPackage !== null) { // the root package is the Ecore package
+			name = current.name + '.' + name
+			current = current.ESuperPackage
+		}
+		return name
+	}
+
+	/**
+	 * Builds the benchmark for the startup time of the generated packages. Every measurement runs in a new JVM, which
+	 * means it includes the static initialization of the packages, either in code or by loading their metamodels.
+	 */
+	def private String getPackageBenchmark(EPackage root) '''
+		package benchmark;
+
+		import java.util.concurrent.TimeUnit;
+
+		import org.openjdk.jmh.annotations.*;
+
+		/**
+		 * Benchmarks the first access of all generated packages.
+		 */
+		@State(Scope.Benchmark)
+		@BenchmarkMode(Mode.SingleShotTime)
+		@OutputTimeUnit(TimeUnit.MILLISECONDS)
+		@Warmup(iterations = 0)
+		@Measurement(iterations = 1)
+		@Fork(20)
+		public class PackageInitializationBenchmark {
+
+			@Benchmark
+			public Object[] initializePackages() {
+				return new Object[] { «FOR name : getPackageInterfaces(root, "") SEPARATOR ", "»«name».eINSTANCE«ENDFOR» };
+			}
+		}
+	'''
+
+	/**
+	 * Recursively collects the fully qualified names of the generated package interfaces, which only exist for packages
+	 * with classifiers.
+	 */
+	def private List<String> getPackageInterfaces(EPackage ePackage, String parentPath) {
+		val path = if(parentPath.empty) ePackage.name else parentPath + "." + ePackage.name
+		val names = newArrayList
+		if (!ePackage.EClassifiers.empty) {
+			names += path + "." + ePackage.name.toFirstUpper + "Package"
+		}
+		ePackage.ESubpackages.forEach[names += getPackageInterfaces(it, path)]
+		return names
+	}
+
+	/**
+	 * Creates a file and its parent folders in a project.
+	 */
+	def private void createFile(IProject project, String path, String name, String content) {
+		var String folderPath = ""
+		for (segment : path.split('/').filter[!empty]) {
+			folderPath = append(folderPath, segment)
+			val folder = project.getFolder(folderPath)
+			if (!folder.exists) {
+				folder.create(false, true, monitor)
+			}
+		}
+		val file = if(folderPath.empty) project.getFile(name) else project.getFolder(folderPath).getFile(name)
+		file.create(new ByteArrayInputStream(content.bytes), true, monitor)
+	}
+
+	/**
+	 * Builds the Maven build file with the profiles for the original and the ecorified code.
+	 */
+	def private String getPom(String name, IProject originalProject, IProject project) '''
+		<?xml version="1.0" encoding="UTF-8"?>
+		<project xmlns="http://maven.apache.org/POM/4.0.0" xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
+			xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 http://maven.apache.org/xsd/maven-4.0.0.xsd">
+			<modelVersion>4.0.0</modelVersion>
+			<groupId>jce.benchmark</groupId>
+			<artifactId>«name»</artifactId>
+			<version>1.0.0-SNAPSHOT</version>
+
+			<properties>
+				<jmh.version>«JMH_VERSION»</jmh.version>
+				<maven.compiler.source>1.8</maven.compiler.source>
+				<maven.compiler.target>1.8</maven.compiler.target>
+				<project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
+			</properties>
+
+			<dependencies>
+				<dependency>
+					<groupId>org.openjdk.jmh</groupId>
+					<artifactId>jmh-core</artifactId>
+					<version>${jmh.version}</version>
+				</dependency>
+				<dependency>
+					<groupId>org.openjdk.jmh</groupId>
+					<artifactId>jmh-generator-annprocess</artifactId>
+					<version>${jmh.version}</version>
+					<scope>provided</scope>
+				</dependency>
+			</dependencies>
+
+			<profiles>
+				<profile>
+					<id>original</id>
+					<build>
+						<plugins>
+							«getSourcePlugin(#[append(originalProject.location.toString, SOURCE_FOLDER.get)])»
+						</plugins>
+					</build>
+				</profile>
+				<profile>
+					<id>ecorified</id>
+					<dependencies>
+						<dependency>
+							<groupId>org.eclipse.emf</groupId>
+							<artifactId>org.eclipse.emf.ecore</artifactId>
+							<version>2.15.0</version>
+						</dependency>
+						<dependency>
+							<groupId>org.eclipse.xtend</groupId>
+							<artifactId>org.eclipse.xtend.lib</artifactId>
+							<version>2.14.0</version>
+						</dependency>
+					</dependencies>
+					<build>
+						<plugins>
+							«getSourcePlugin(#[append(project.location.toString, SOURCE_FOLDER.get), append(project.location.toString, "xtend-gen"), "src/ecorified/java"])»
+						</plugins>
+					</build>
+				</profile>
+			</profiles>
+
+			<build>
+				<plugins>
+					<plugin>
+						<groupId>org.apache.maven.plugins</groupId>
+						<artifactId>maven-shade-plugin</artifactId>
+						<version>3.2.4</version>
+						<executions>
+							<execution>
+								<phase>package</phase>
+								<goals>
+									<goal>shade</goal>
+								</goals>
+								<configuration>
+									<finalName>benchmarks</finalName>
+									<transformers>
+										<transformer implementation="org.apache.maven.plugins.shade.resource.ManifestResourceTransformer">
+											<mainClass>org.openjdk.jmh.Main</mainClass>
+										</transformer>
+									</transformers>
+								</configuration>
+							</execution>
+						</executions>
+					</plugin>
+				</plugins>
+			</build>
+		</project>
+	'''
+
+	/**
+	 * Builds the plugin configuration that adds source folders to the build.
+	 */
+	def private String getSourcePlugin(List<String> sourceFolders) '''
+		<plugin>
+			<groupId>org.codehaus.mojo</groupId>
+			<artifactId>build-helper-maven-plugin</artifactId>
+			<version>3.2.0</version>
+			<executions>
+				<execution>
+					<phase>generate-sources</phase>
+					<goals>
+						<goal>add-source</goal>
+					</goals>
+					<configuration>
+						<sources>
+							«FOR folder : sourceFolders»
+								<source>«folder»</source>
+							«ENDFOR»
+						</sources>
+					</configuration>
+				</execution>
+			</executions>
+		</plugin>
+	'''
+
+	/**
+	 * Builds the readme with the instructions for running and comparing the benchmarks.
+	 */
+	def private String getReadme(int classes) '''
+		# Ecorification runtime overhead benchmarks
+
+		Generated JMH benchmarks for «classes» classes: Object creation, getters, setters, multi-valued features and the
+		replacement of lists with 100000 elements of the original and the ecorified code, plus the reflective eGet and
+		notifying setters of the ecorified code.
+
+		    mvn -P original clean package && java -jar target/benchmarks.jar -prof gc -rf json -rff original.json
+		    mvn -P ecorified clean package && java -jar target/benchmarks.jar -prof gc -rf json -rff ecorified.json
+
+		Throughput is reported as "thrpt", latency as "avgt" and the allocation per operation as "gc.alloc.rate.norm".
+		The "gc.alloc.rate.norm" of create and createPopulated is the heap per instance. The ecorified code was generated
+		with the generation profile "«GENERATION_PROFILE.get»". To compare profiles, run the ecorified benchmarks with a
+		differently named result file, change the property GenerationProfile, ecorify the original project again and rerun
+		them. The source folders of the ecorified project are configured in the pom.xml.
+		The same applies to other properties that change the generated code: For LoadedPackageInitialization, the
+		PackageInitializationBenchmark measures the first access of all packages in new JVMs. For PrimitiveLists, the
+		AddLoop and Large benchmarks show the list throughput and "jcmd <pid> GC.class_histogram" the retained heap.
+		Dependencies of the original code that are not on the build path of this project must be added to the pom.xml.
+	'''
+}
@@ -0,0 +1,342 @@
+package jce.generators
+
+import java.util.List
+import java.util.Map
+import org.eclipse.emf.ecore.EClass
+import org.eclipse.emf.ecore.EReference
+import org.eclipse.jdt.core.Flags
+import org.eclipse.jdt.core.IMethod
+import org.eclipse.jdt.core.IType
+import org.eclipse.jdt.core.Signature
+
+/**
+ * This class models the JMH benchmarks of one origin code class. The benchmarked operations are derived from the
+ * original type, which means they are available in the original and in the ecorified code: Object creation, getters,
+ * setters, the size of multi-valued features, loops that add to them and the replacement of large lists. The ecorified
+ * code is additionally benchmarked with the reflective eGet and with setters that deliver notifications.
+ * @author Timur Saglam
+ */
+class BenchmarkRepresentation {
+	static final Map<String, String> VALUES = #{"int" -> "42", "long" -> "42L", "short" -> "(short) 42", "byte" -> "(byte) 42",
+		"double" -> "4.2", "float" -> "4.2f", "boolean" -> "true", "char" -> "'c'", "String" -> '"value"', "Integer" -> "42",
+		"Long" -> "42L", "Double" -> "4.2", "Boolean" -> "true"}
+	static final Map<String, String> ELEMENTS = #{"Integer" -> "i", "Long" -> "(long) i", "Double" -> "(double) i", "String" -> '"value" + i'}
+	static final List<String> COLLECTION_TYPES = #["List", "ArrayList", "Collection"]
+	static final List<String> LIST_TYPES = #["List", "ArrayList", "Collection", "Iterable"]
+	static final int LIST_SIZE = 100_000
+	static final int ADD_LOOP_SIZE = 10_000
+	final String benchmarkPackage
+	final String className
+	final String name
+	final List<String> getters
+	final Map<String, String> listGetters // getter name to size access
+	final Map<String, String> setters // setter name to argument
+	final Map<String, String> listSetters // setter name to element type
+	final Map<String, String> referenceSetters // setter name to referenced class
+	final Map<String, String> addLoopGetters // getter name to element type
+	final List<String> features
+
+	/**
+	 * Creates the benchmark representation of an EClass from its original type.
+	 * @param eClass is the EClass of the origin code class.
+	 * @param originalType is the type of the class in the original project.
+	 */
+	new(EClass eClass, IType originalType) {
+		className = originalType.fullyQualifiedName
+		name = eClass.name
+		benchmarkPackage = "benchmark." + originalType.packageFragment.elementName
+		getters = newArrayList
+		listGetters = newLinkedHashMap
+		setters = newLinkedHashMap
+		listSetters = newLinkedHashMap
+		referenceSetters = newLinkedHashMap
+		addLoopGetters = newLinkedHashMap
+		features = newArrayList
+		for (feature : eClass.EStructuralFeatures) {
+			val getter = findMethod(originalType, "get" + feature.name.toFirstUpper, 0) ?: findMethod(originalType, "is" + feature.name.toFirstUpper, 0)
+			if (getter !== null) {
+				features += feature.name
+				if (feature.many) {
+					val sizeAccess = getSizeAccess(getter.returnType)
+					if (sizeAccess !== null) {
+						listGetters.put(getter.elementName, sizeAccess)
+					}
+					val elementType = getElementType(getter.returnType)
+					if (elementType !== null && Signature.getSignatureSimpleName(Signature.getTypeErasure(getter.returnType)) != "Iterable") {
+						addLoopGetters.put(getter.elementName, elementType)
+					}
+				} else {
+					getters += getter.elementName
+				}
+				val setter = findMethod(originalType, "set" + feature.name.toFirstUpper, 1)
+				val value = if(setter === null) null else VALUES.get(Signature.getSignatureSimpleName(setter.parameterTypes.get(0)))
+				if (!feature.many && value !== null) {
+					setters.put(setter.elementName, value)
+				}
+				val referencedClass = if(setter === null || value !== null) null else resolveClass(originalType, setter.parameterTypes.get(0))
+				if (feature instanceof EReference && !feature.many && referencedClass !== null) {
+					referenceSetters.put(setter.elementName, referencedClass)
+				}
+				val elementType = if(setter === null) null else getElementType(setter.parameterTypes.get(0))
+				if (feature.many && elementType !== null) {
+					listSetters.put(setter.elementName, elementType)
+				}
+			}
+		}
+	}
+
+	/**
+	 * Checks whether the original type can be benchmarked, which requires a public class with a public default
+	 * constructor.
+	 */
+	def static boolean isBenchmarkable(IType type) {
+		if (type === null || !type.isClass || !Flags.isPublic(type.flags) || Flags.isAbstract(type.flags)) {
+			return false
+		}
+		val constructors = type.methods.filter[constructor]
+		return constructors.empty || constructors.exists[parameterTypes.length == 0 && Flags.isPublic(flags)]
+	}
+
+	/**
+	 * Returns the package of the benchmark classes.
+	 */
+	def String getPackage() {
+		return benchmarkPackage
+	}
+
+	/**
+	 * Returns the name of the benchmark class for both the original and the ecorified code.
+	 */
+	def String getName() {
+		return name + "Benchmark"
+	}
+
+	/**
+	 * Returns the name of the benchmark class for the Ecore operations of the ecorified code.
+	 */
+	def String getEcoreName() {
+		return name + "EcoreBenchmark"
+	}
+
+	/**
+	 * Builds the benchmark class for the operations of the original type.
+	 */
+	def String getContent() '''
+		package «benchmarkPackage»;
+
+		import java.util.concurrent.TimeUnit;
+
+		import org.openjdk.jmh.annotations.*;
+
+		/**
+		 * Benchmarks the operations of «className», compiled against the original or the ecorified code.
+		 */
+		«benchmarkAnnotations»
+		public class «getName» {
+			private «className» instance;
+			private boolean flip;
+			«FOR setter : listSetters.keySet»
+				private final java.util.ArrayList<«listSetters.get(setter)»> «setter»Values = new java.util.ArrayList<>();
+				private final java.util.ArrayList<«listSetters.get(setter)»> «setter»OtherValues = new java.util.ArrayList<>();
+			«ENDFOR»
+
+			@Setup
+			public void setup() {
+				instance = new «className»();
+				«FOR setter : referenceSetters.keySet»
+					instance.«setter»(new «referenceSetters.get(setter)»()); // the getters access an actual object
+				«ENDFOR»
+				«FOR setter : listSetters.keySet»
+					for (int i = 0; i < «LIST_SIZE»; i++) {
+						«setter»Values.add(«ELEMENTS.get(listSetters.get(setter))»);
+					}
+					for (int i = 1; i <= «LIST_SIZE»; i++) { // differs at every position
+						«setter»OtherValues.add(«ELEMENTS.get(listSetters.get(setter))»);
+					}
+				«ENDFOR»
+			}
+
+			@Benchmark
+			public Object create() {
+				return new «className»();
+			}
+			«IF !setters.empty»
+
+				@Benchmark
+				public Object createPopulated() { // heap per populated instance
+					«className» populated = new «className»();
+					«FOR setter : setters.keySet»
+						populated.«setter»(«setters.get(setter)»);
+					«ENDFOR»
+					return populated;
+				}
+			«ENDIF»
+			«FOR getter : getters»
+
+				@Benchmark
+				public Object «getter»() {
+					return instance.«getter»();
+				}
+			«ENDFOR»
+			«FOR getter : listGetters.keySet»
+
+				@Benchmark
+				public int «getter»Size() {
+					return instance.«getter»().«listGetters.get(getter)»;
+				}
+			«ENDFOR»
+			«FOR setter : setters.keySet»
+
+				@Benchmark
+				public void «setter»() {
+					instance.«setter»(«setters.get(setter)»);
+				}
+			«ENDFOR»
+			«FOR getter : addLoopGetters.keySet»
+
+				@Benchmark
+				public int «getter»AddLoop() { // fills the list with «ADD_LOOP_SIZE» distinct values one by one
+					java.util.Collection<«addLoopGetters.get(getter)»> list = instance.«getter»();
+					list.clear();
+					for (int i = 0; i < «ADD_LOOP_SIZE»; i++) {
+						list.add(«ELEMENTS.get(addLoopGetters.get(getter))»);
+					}
+					return list.size();
+				}
+			«ENDFOR»
+			«FOR setter : listSetters.keySet»
+
+				@Benchmark
+				public void «setter»Large() { // replaces all «LIST_SIZE» elements
+					flip = !flip;
+					instance.«setter»(flip ? «setter»Values : «setter»OtherValues);
+				}
+			«ENDFOR»
+		}
+	'''
+
+	/**
+	 * Builds the benchmark class for the Ecore operations, which only exist in the ecorified code.
+	 */
+	def String getEcoreContent() '''
+		package «benchmarkPackage»;
+
+		import java.util.concurrent.TimeUnit;
+
+		import org.eclipse.emf.common.notify.Notification;
+		import org.eclipse.emf.common.notify.impl.AdapterImpl;
+		import org.eclipse.emf.ecore.EObject;
+		import org.eclipse.emf.ecore.EStructuralFeature;
+		import org.openjdk.jmh.annotations.*;
+
+		/**
+		 * Benchmarks the Ecore operations of the ecorified «className».
+		 */
+		«benchmarkAnnotations»
+		public class «ecoreName» {
+			private «className» instance;
+			private «className» observedInstance;
+			private EObject eObject;
+			private int notifications;
+			«FOR feature : features»
+				private EStructuralFeature «feature»Feature;
+			«ENDFOR»
+
+			@Setup
+			public void setup() {
+				instance = new «className»();
+				«FOR setter : referenceSetters.keySet»
+					instance.«setter»(new «referenceSetters.get(setter)»());
+				«ENDFOR»
+				eObject = (EObject) instance;
+				«FOR feature : features»
+					«feature»Feature = eObject.eClass().getEStructuralFeature("«feature»");
+				«ENDFOR»
+				observedInstance = new «className»();
+				((EObject) observedInstance).eAdapters().add(new AdapterImpl() {
+					@Override
+					public void notifyChanged(Notification notification) {
+						notifications++;
+					}
+				});
+			}
+
+			@Benchmark
+			public Object eClass() {
+				return eObject.eClass();
+			}
+			«FOR feature : features»
+
+				@Benchmark
+				public Object eGet«feature.toFirstUpper»() {
+					return eObject.eGet(«feature»Feature);
+				}
+			«ENDFOR»
+			«FOR setter : setters.keySet»
+
+				@Benchmark
+				public int «setter»Notifying() {
+					observedInstance.«setter»(«setters.get(setter)»);
+					return notifications;
+				}
+			«ENDFOR»
+		}
+	'''
+
+	/**
+	 * Builds the JMH annotations of the benchmark classes: Throughput and latency, the allocation is measured with the
+	 * GC profiler.
+	 */
+	def private String getBenchmarkAnnotations() '''
+		@State(Scope.Thread)
+		@BenchmarkMode({ Mode.Throughput, Mode.AverageTime })
+		@OutputTimeUnit(TimeUnit.MICROSECONDS)
+		@Warmup(iterations = 3, time = 1)
+		@Measurement(iterations = 5, time = 1)
+		@Fork(1)
+	'''
+
+	/**
+	 * Returns the size access of a multi-valued return type signature, which is the length of arrays and the size of
+	 * collections, or null if the type has no size.
+	 */
+	def private String getSizeAccess(String signature) {
+		if (Signature.getArrayCount(signature) > 0) {
+			return "length"
+		}
+		return if(COLLECTION_TYPES.contains(Signature.getSignatureSimpleName(Signature.getTypeErasure(signature)))) "size()" else null
+	}
+
+	/**
+	 * Returns the simple name of the element type of a list parameter signature if the elements can be created by the
+	 * benchmarks, or null if not.
+	 */
+	def private String getElementType(String signature) {
+		val arguments = Signature.getTypeArguments(signature)
+		if (LIST_TYPES.contains(Signature.getSignatureSimpleName(Signature.getTypeErasure(signature))) && arguments.length == 1) {
+			val elementType = Signature.getSignatureSimpleName(arguments.get(0))
+			return if(ELEMENTS.containsKey(elementType)) elementType else null
+		}
+		return null
+	}
+
+	/**
+	 * Returns the fully qualified name of the class of a parameter signature if instances of it can be created by the
+	 * benchmarks, or null if not.
+	 */
+	def private String resolveClass(IType type, String signature) {
+		val resolved = type.resolveType(Signature.toString(Signature.getTypeErasure(signature)))
+		if (resolved === null || resolved.length != 1) {
+			return null
+		}
+		val name = if(resolved.get(0).get(0).empty) resolved.get(0).get(1) else resolved.get(0).get(0) + "." + resolved.get(0).get(1)
+		return if(isBenchmarkable(type.javaProject.findType(name))) name else null
+	}
+
+	/**
+	 * Finds a public method of a type with a specific name and number of parameters.
+	 */
+	def private IMethod findMethod(IType type, String methodName, int parameterCount) {
+		return type.methods.findFirst[elementName == methodName && parameterTypes.length == parameterCount && Flags.isPublic(flags)]
+	}
+}
@@ -0,0 +1,135 @@
+package jce.generators
+
+import jce.properties.EcorificationProperties
+
+import static jce.properties.TextProperty.WRAPPER_PACKAGE
+
+/**
+ * This class models the bulk edit utility of the ecorified code. A bulk edit suspends the notification delivery of an
+ * object and its contents, applies a batch of changes and then fires either one coalesced notification or none. The
+ * utility works on any EObject, e.g. the root container. Wrappers implement its Editable interface, which exposes the
+ * object that actually sends the notifications, e.g. the Ecore implementation of a delegating wrapper.
+ * @author Timur Saglam
+ */
+class BulkEditRepresentation {
+	public static final String NAME = "BulkEdit"
+	extension final EcorificationProperties properties
+
+	/**
+	 * Basic constructor, sets the properties.
+	 */
+	new(EcorificationProperties properties) {
+		this.properties = properties
+	}
+
+	/**
+	 * Returns the fully qualified name of the bulk edit utility.
+	 */
+	def String getQualifiedName() {
+		return WRAPPER_PACKAGE.get + "." + NAME
+	}
+
+	/**
+	 * Builds the content of the bulk edit utility.
+	 */
+	def String getContent() '''
+		package «WRAPPER_PACKAGE.get»;
+
+		import java.util.ArrayDeque;
+		import java.util.ArrayList;
+		import java.util.Deque;
+		import java.util.List;
+
+		import org.eclipse.emf.common.notify.Notification;
+		import org.eclipse.emf.common.notify.Notifier;
+		import org.eclipse.emf.ecore.EObject;
+		import org.eclipse.emf.ecore.InternalEObject;
+		import org.eclipse.emf.ecore.impl.ENotificationImpl;
+
+		/**
+		 * Applies batches of changes to an object and its contents without a notification per change.
+		 */
+		public final class «NAME» {
+			/**
+			 * Event type of the coalesced notification of a bulk edit.
+			 */
+			public static final int BULK_EDIT = Notification.EVENT_TYPE_COUNT;
+
+			/**
+			 * Object that supports bulk edits.
+			 */
+			public interface Editable {
+				/**
+				 * Applies a batch of changes to this object and its contents without a notification per change.
+				 * @param changes are the changes.
+				 * @param coalesce determines whether one coalesced notification is fired after the changes.
+				 */
+				void bulkEdit(Runnable changes, boolean coalesce);
+
+				/**
+				 * Returns the object that sends the notifications of this object.
+				 * @return the notifying object.
+				 */
+				InternalEObject eNotifier();
+			}
+
+			private «NAME»() {
+				throw new AssertionError("Suppress default constructor for noninstantiability");
+			}
+
+			/**
+			 * Applies a batch of changes to an object and its contents without a notification per change. The delivery of
+			 * the objects that deliver notifications is suspended during the changes and resumed afterwards, even if the
+			 * changes fail. Objects added by the changes are not suspended.
+			 * @param root is the root object of the edited subtree.
+			 * @param changes are the changes.
+			 * @param coalesce determines whether one notification with the event type BULK_EDIT is fired by the root after
+			 * the changes.
+			 */
+			public static void apply(EObject root, Runnable changes, boolean coalesce) {
+				InternalEObject notifier = notifierOf(root);
+				List<Notifier> suspended = new ArrayList<>();
+				Deque<InternalEObject> pending = new ArrayDeque<>();
+				pending.push(notifier);
+				while (!pending.isEmpty()) { // wrappers do not delegate eContents(), so their notifiers are walked instead
+					InternalEObject object = pending.pop();
+					suspend(object, suspended);
+					for (EObject child : object.eContents()) {
+						pending.push(notifierOf(child));
+					}
+				}
+				try {
+					changes.run();
+				} finally {
+					for (Notifier object : suspended) {
+						object.eSetDeliver(true);
+					}
+				}
+				if (coalesce && notifier.eNotificationRequired()) {
+					notifier.eNotify(new ENotificationImpl(notifier, BULK_EDIT, Notification.NO_FEATURE_ID, null, null));
+				}
+			}
+
+			/**
+			 * Suspends the notification delivery of an object if it is delivering. Already suspended objects are left
+			 * alone, which means nested bulk edits do not resume them early.
+			 */
+			private static void suspend(Notifier object, List<Notifier> suspended) {
+				if (object.eDeliver()) {
+					object.eSetDeliver(false);
+					suspended.add(object);
+				}
+			}
+
+			/**
+			 * Returns the object that sends the notifications of an object.
+			 */
+			private static InternalEObject notifierOf(EObject object) {
+				if (object instanceof Editable) {
+					return ((Editable) object).eNotifier();
+				}
+				return (InternalEObject) object;
+			}
+		}
+	'''
+}
@@ -7,6 +7,7 @@ import jce.util.PathHelper
 import jce.util.logging.MonitorFactory
 import org.apache.log4j.LogManager
 import org.apache.log4j.Logger
+import org.eclipse.core.resources.IFile
 import org.eclipse.core.resources.IFolder
 import org.eclipse.core.resources.IProject
 import org.eclipse.core.runtime.IProgressMonitor
@@ -30,9 +31,9 @@ class ClassGenerator {
 	}
 
 	/**
-	 * Creates an IFile from a project relative path, a file name and creates the file content.
+	 * Creates an IFile from a project relative path, a file name and creates the file content. Returns the IFile.
 	 */
-	def void createClass(String path, String name, String content, IProject project) {
+	def IFile createClass(String path, String name, String content, IProject project) {
 		var folder = project.getFolder(append(SOURCE_FOLDER.get, path))
 		var file = folder.getFile(name)
 		if(file.exists) {
@@ -41,6 +42,7 @@ class ClassGenerator {
 			val source = new ByteArrayInputStream(content.bytes)
 			file.create(source, true, monitor)
 		}
+		return file
 	}
 
 	/**
@@ -6,12 +6,13 @@ import java.util.LinkedList
 import java.util.List
 import jce.properties.EcorificationProperties
 import jce.util.jdt.ASTUtil
+import jce.util.jdt.ParseMode
+import jce.util.jdt.TypeIndex
 import jce.util.logging.MonitorFactory
 import org.apache.log4j.LogManager
 import org.apache.log4j.Logger
 import org.eclipse.core.runtime.IProgressMonitor
 import org.eclipse.jdt.core.ICompilationUnit
-import org.eclipse.jdt.core.IJavaProject
 import org.eclipse.jdt.core.IType
 import org.eclipse.jdt.core.dom.ASTVisitor
 import org.eclipse.jdt.core.dom.CompilationUnit
@@ -32,18 +33,18 @@ final class ConstructorGenerator {
 	 * Builds the constructor representations from all constructors of an IType. The IType is the correlating super type
 	 * of the wrapper which should use the generated constructors.
 	 */
-	def static List<ConstructorRepresentation> generate(String typeName, IJavaProject project, EcorificationProperties properties) {
+	def static List<ConstructorRepresentation> generate(String typeName, TypeIndex typeIndex, EcorificationProperties properties) {
 		if(typeName === null) {
 			return noConstructors
 		}
 		val IProgressMonitor monitor = MonitorFactory.createProgressMonitor(logger, properties)
-		val IType type = project.findType(typeName, monitor)
-		if(type.compilationUnit === null) {
+		val IType type = typeIndex.findType(typeName)
+		if(type === null || type.compilationUnit === null) {
 			logger.error("Could not get compilation unit of " + typeName)
 			return noConstructors
 		}
 		val ConstructorVisitor visitor = new ConstructorVisitor(type)
-		val CompilationUnit parsedUnit = ASTUtil.parse(type.compilationUnit, monitor)
+		val CompilationUnit parsedUnit = ASTUtil.parse(type.compilationUnit, ParseMode.DECLARATIONS, monitor)
 		parsedUnit.accept(visitor)
 		return visitor.constructors
 	}
@@ -34,6 +34,13 @@ class ConstructorRepresentation {
 		buildImports(unit)
 	}
 
+	/**
+	 * Checks whether the constructor has parameters.
+	 */
+	def boolean hasParameters() {
+		return !parameters.empty
+	}
+
 	override toString() {
 		return class.name + parameters
 	}
@@ -62,6 +69,28 @@ class ConstructorRepresentation {
 		}
 	'''
 
+	/**
+	 * Builds the Java code fragment of this constructor for a Java wrapper class with a specific name.
+	 */
+	def String getJavaContent(String className) '''
+		public «className»(«buildParameters») {
+			super(«buildNames»);
+			ecoreImplementation = getInstance();
+		}
+	'''
+
+	/**
+	 * Builds the Java code fragment of this constructor for a class without delegate, which only passes the parameters
+	 * to the super constructor.
+	 * @param visibility is the visibility modifier of the constructor, e.g. "public".
+	 * @param className is the name of the class of the constructor.
+	 */
+	def String getPassThroughContent(String visibility, String className) '''
+		«visibility» «className»(«buildParameters») {
+			super(«buildNames»);
+		}
+	'''
+
 	/** 
 	 * Builds the list of types that need to be imported to use the constructors.
 	 */
@@ -0,0 +1,316 @@
+package jce.generators
+
+import java.lang.reflect.Method
+import java.lang.reflect.Modifier
+import java.lang.reflect.Type
+import java.util.HashMap
+import java.util.HashSet
+import java.util.LinkedHashMap
+import java.util.List
+import java.util.Map
+import java.util.Set
+import jce.properties.EcorificationProperties
+import jce.util.EcoreUtil
+import jce.util.PathHelper
+import jce.util.jdt.TypeIndex
+import jce.util.logging.LazyLog
+import jce.util.logging.MonitorFactory
+import org.apache.log4j.LogManager
+import org.apache.log4j.Logger
+import org.eclipse.core.runtime.IProgressMonitor
+import org.eclipse.emf.ecore.EClass
+import org.eclipse.emf.ecore.EPackage
+import org.eclipse.emf.ecore.InternalEObject
+import org.eclipse.jdt.core.IMethod
+import org.eclipse.jdt.core.IType
+import org.eclipse.jdt.core.Signature
+
+import static jce.properties.BinaryProperty.LAZY_ECORE_IMPLEMENTATION
+import static jce.properties.TextProperty.ECORE_PACKAGE
+
+/**
+ * Generator class for the delegation methods of Java wrapper classes. The delegation methods are computed once from the
+ * Ecore interfaces (with the JDT) and from {@link InternalEObject} (with reflection), which replaces the work of the
+ * Xtend delegation annotations during the build of the ecorified project.
+ * @author Timur Saglam
+ */
+final class DelegateMethodGenerator {
+	static final Logger logger = LogManager.getLogger(DelegateMethodGenerator.name)
+	static final String ECORE_DELEGATE = "ecoreImplementation"
+	static final String INTERNAL_DELEGATE = "internalEcoreImplementation"
+	static final String LAZY_ECORE_DELEGATE = "getEcoreImplementation()"
+	static final String LAZY_INTERNAL_DELEGATE = "getInternalEcoreImplementation()"
+
+	private new() {
+		throw new AssertionError("Suppress default constructor for noninstantiability")
+	}
+
+	/**
+	 * Builds the delegation methods of the wrapper of an EClass. If the wrapper has no wrapper super class, the methods of
+	 * all Ecore interfaces of the EClass and the methods of {@link InternalEObject} are delegated. Otherwise only the
+	 * methods of the Ecore interfaces which are not already implemented by the wrapper super class are delegated. Wrappers
+	 * with lazily created Ecore implementations delegate to the getters instead of the fields. Type variables of generic
+	 * super interfaces are substituted with their type arguments.
+	 */
+	def static List<DelegateMethodRepresentation> generate(EClass eClass, EClass superClass, TypeIndex typeIndex,
+		EcorificationProperties properties) {
+		val IProgressMonitor monitor = MonitorFactory.createProgressMonitor(logger, properties)
+		val Map<String, DelegateMethodRepresentation> methods = new LinkedHashMap // keeps declaration order
+		val EPackage root = getRoot(eClass)
+		val lazy = properties.get(LAZY_ECORE_IMPLEMENTATION)
+		val Map<String, Map<String, String>> substitutions = new HashMap
+		val IType ecoreInterface = typeIndex.findType(getInterfaceName(eClass, properties))
+		if (ecoreInterface !== null) {
+			collectSubstitutions(ecoreInterface, emptyMap, root, properties, substitutions)
+		}
+		for (delegatedClass : getDelegatedClasses(eClass, superClass)) {
+			val String interfaceName = getInterfaceName(delegatedClass, properties)
+			val IType type = typeIndex.findType(interfaceName)
+			if (type === null) {
+				logger.error("Could not find Ecore interface " + interfaceName)
+			} else {
+				val substitution = substitutions.getOrDefault(interfaceName, emptyMap)
+				for (method : type.methods) {
+					val delegate = if(lazy) LAZY_ECORE_DELEGATE else ECORE_DELEGATE
+					methods.putIfAbsent(getKey(method), create(method, type, substitution, root, properties, delegate))
+				}
+			}
+		}
+		if (superClass === null) { // InternalEObject is only delegated in the root wrappers
+			for (method : InternalEObject.methods.filter[!Modifier.isStatic(modifiers)]) {
+				methods.putIfAbsent(getKey(method), create(method, if(lazy) LAZY_INTERNAL_DELEGATE else INTERNAL_DELEGATE))
+			}
+		}
+		LazyLog.detail(monitor, ['''Computed «methods.size» delegation methods for «eClass.name»''']) // detailed logging
+		return methods.values.toList
+	}
+
+	/**
+	 * Returns the EClasses whose Ecore interfaces need to be delegated: The EClass itself and all its super types, except
+	 * the super types that are already covered by the wrapper super class.
+	 */
+	def private static List<EClass> getDelegatedClasses(EClass eClass, EClass superClass) {
+		val List<EClass> delegatedClasses = newArrayList(eClass)
+		delegatedClasses.addAll(eClass.EAllSuperTypes)
+		if (superClass !== null) {
+			delegatedClasses.remove(superClass)
+			delegatedClasses.removeAll(superClass.EAllSuperTypes)
+		}
+		return delegatedClasses
+	}
+
+	/**
+	 * Collects the type variable substitutions of an Ecore interface and its super interfaces, as seen from the Ecore
+	 * interface of the wrapped EClass. Every type variable of a super interface is mapped to its resolved type argument.
+	 * Type variables of raw super interfaces are mapped to the erasure of their first bound.
+	 */
+	def private static void collectSubstitutions(IType type, Map<String, String> substitution, EPackage root,
+		EcorificationProperties properties, Map<String, Map<String, String>> substitutions) {
+		if (substitutions.putIfAbsent(type.fullyQualifiedName, substitution) !== null) {
+			return // already visited on another path
+		}
+		val Set<String> typeVariables = new HashSet
+		type.typeParameters.forEach[typeVariables.add(elementName)]
+		val resolver = new SignatureResolver(type, typeVariables, substitution, root, properties.get(ECORE_PACKAGE))
+		for (signature : type.superInterfaceTypeSignatures) {
+			val IType superType = resolver.findType(Signature.toString(Signature.getTypeErasure(signature)))
+			if (superType !== null && superType.exists) {
+				val arguments = Signature.getTypeArguments(signature)
+				val Map<String, String> superSubstitution = new HashMap
+				superType.typeParameters.forEach [ parameter, index |
+					superSubstitution.put(parameter.elementName, if (index < arguments.length) {
+						resolver.resolve(arguments.get(index))
+					} else {
+						parameter.boundsSignatures.map[resolver.resolve(Signature.getTypeErasure(it))].head ?: Object.name
+					})
+				]
+				collectSubstitutions(superType, superSubstitution, root, properties, substitutions)
+			}
+		}
+	}
+
+	/**
+	 * Creates a delegation method from an Ecore interface method. The types are resolved in the context of the Ecore
+	 * interface, type variables of the interface are replaced by their substitutions.
+	 */
+	def private static DelegateMethodRepresentation create(IMethod method, IType type, Map<String, String> substitution, EPackage root,
+		EcorificationProperties properties, String delegate) {
+		val Set<String> typeVariables = new HashSet
+		type.typeParameters.forEach[typeVariables.add(elementName)]
+		method.typeParameters.forEach[typeVariables.add(elementName)]
+		val Map<String, String> visibleSubstitution = new HashMap(substitution)
+		method.typeParameters.forEach[visibleSubstitution.remove(elementName)] // shadowed by method type parameters
+		val resolver = new SignatureResolver(type, typeVariables, visibleSubstitution, root, properties.get(ECORE_PACKAGE))
+		val typeParameters = method.typeParameters.map [ parameter |
+			val bounds = parameter.boundsSignatures.map[resolver.resolve(it)]
+			if(bounds.empty) parameter.elementName else parameter.elementName + " extends " + String.join(" & ", bounds)
+		]
+		return new DelegateMethodRepresentation(method.elementName, resolver.resolve(method.returnType), typeParameters,
+			method.parameterTypes.map[resolver.resolve(it)], method.parameterNames, method.exceptionTypes.map[resolver.resolve(it)],
+			delegate)
+	}
+
+	/**
+	 * Creates a delegation method from a {@link InternalEObject} method with the help of reflection.
+	 */
+	def private static DelegateMethodRepresentation create(Method method, String delegate) {
+		val typeParameters = method.typeParameters.map [ parameter |
+			val bounds = parameter.bounds.filter[it != Object].map[typeName(it)].toList
+			if(bounds.empty) parameter.name else parameter.name + " extends " + String.join(" & ", bounds)
+		]
+		val parameterNames = (0 ..< method.parameterCount).map["argument" + it].toList
+		return new DelegateMethodRepresentation(method.name, typeName(method.genericReturnType), typeParameters,
+			method.genericParameterTypes.map[typeName(it)], parameterNames, method.genericExceptionTypes.map[typeName(it)],
+			delegate)
+	}
+
+	/**
+	 * Returns a key that identifies a method by its name and the erasure of its parameter types.
+	 */
+	def private static String getKey(IMethod method) {
+		return method.elementName + method.parameterTypes.map[Signature.toString(Signature.getTypeErasure(it))]
+	}
+
+	/**
+	 * Returns a key that identifies a method by its name and the erasure of its parameter types.
+	 */
+	def private static String getKey(Method method) {
+		return method.name + method.parameterTypes.map[simpleName]
+	}
+
+	/**
+	 * Returns the source code representation of a reflective type. Nested types are separated with dots.
+	 */
+	def private static String typeName(Type type) {
+		return type.typeName.replace('$', '.')
+	}
+
+	/**
+	 * Returns the root package of the metamodel that contains an EClass.
+	 */
+	def private static EPackage getRoot(EClass eClass) {
+		var EPackage current = eClass.EPackage
+		while (current.ESuperPackage !== null) {
+			current = current.ESuperPackage
+		}
+		return current
+	}
+
+	/**
+	 * Returns the fully qualified name of the Ecore interface of an EClass.
+	 */
+	def private static String getInterfaceName(EClass eClass, EcorificationProperties properties) {
+		return new PathHelper('.').append(properties.get(ECORE_PACKAGE), getPackage(eClass), eClass.name)
+	}
+
+	/**
+	 * Returns the package path of an EClass without the Ecore package name.
+	 */
+	def private static String getPackage(EClass eClass) {
+		val PathHelper pathHelper = new PathHelper('.')
+		var String package = ""
+		var EPackage current = eClass.EPackage
+		while (current !== null) { // iterate through package hierarchy
+			package = pathHelper.append(current.name, package)
+			current = current.ESuperPackage
+		}
+		return pathHelper.cutFirstSegment(package) // cut Ecore package name
+	}
+
+	/**
+	 * Resolves JDT type signatures of an Ecore interface to fully qualified type names. References to Ecore types with an
+	 * origin code counterpart are resolved to the origin code type, because the Ecore code is adapted to use the origin
+	 * code types later on. Type variables with a substitution are replaced by it.
+	 */
+	static class SignatureResolver {
+		final IType context
+		final Set<String> typeVariables
+		final Map<String, String> substitution
+		final EPackage root
+		final String ecorePackage
+		final PathHelper pathHelper
+
+		new(IType context, Set<String> typeVariables, Map<String, String> substitution, EPackage root, String ecorePackage) {
+			this.context = context
+			this.typeVariables = typeVariables
+			this.substitution = substitution
+			this.root = root
+			this.ecorePackage = ecorePackage
+			pathHelper = new PathHelper('.')
+		}
+
+		/**
+		 * Resolves a type signature to a fully qualified type name with all type arguments.
+		 */
+		def String resolve(String signature) {
+			switch (signature.charAt(0)) {
+				case Signature.C_STAR: return "?"
+				case Signature.C_EXTENDS: return "? extends " + resolve(signature.substring(1))
+				case Signature.C_SUPER: return "? super " + resolve(signature.substring(1))
+			}
+			switch (Signature.getTypeSignatureKind(signature)) {
+				case Signature.ARRAY_TYPE_SIGNATURE:
+					return resolve(Signature.getElementType(signature)) + dimensions(Signature.getArrayCount(signature))
+				case Signature.CLASS_TYPE_SIGNATURE:
+					return resolveClass(signature)
+				case Signature.TYPE_VARIABLE_SIGNATURE:
+					return substitution.getOrDefault(Signature.toString(signature), Signature.toString(signature))
+				default:
+					return Signature.toString(signature) // base types
+			}
+		}
+
+		/**
+		 * Finds a type by its simple name in the context of the Ecore interface, without replacing Ecore types.
+		 */
+		def IType findType(String simpleName) {
+			val String[][] candidates = context.resolveType(simpleName)
+			if (candidates === null || candidates.length == 0) {
+				return context.javaProject.findType(simpleName) // already qualified or not resolvable
+			}
+			return context.javaProject.findType(pathHelper.append(candidates.get(0).get(0), candidates.get(0).get(1)))
+		}
+
+		/**
+		 * Returns the array dimension brackets for a number of dimensions, e.g. "[][]" for two dimensions.
+		 */
+		def private String dimensions(int count) {
+			var String result = ""
+			for (var i = 0; i < count; i++) {
+				result += "[]"
+			}
+			return result
+		}
+
+		/**
+		 * Resolves a class type signature with its type arguments.
+		 */
+		def private String resolveClass(String signature) {
+			val simpleName = Signature.toString(Signature.getTypeErasure(signature))
+			val arguments = Signature.getTypeArguments(signature)
+			if (substitution.containsKey(simpleName)) {
+				return substitution.get(simpleName) // type variable of a generic super interface
+			}
+			val name = if(typeVariables.contains(simpleName)) simpleName else resolveName(simpleName)
+			if (arguments.empty) {
+				return name
+			}
+			return name + "<" + String.join(", ", arguments.map[resolve(it)]) + ">"
+		}
+
+		/**
+		 * Resolves a simple type name in the context of the Ecore interface.
+		 */
+		def private String resolveName(String simpleName) {
+			val String[][] candidates = context.resolveType(simpleName)
+			if (candidates === null || candidates.length == 0) {
+				return simpleName // already qualified or not resolvable
+			}
+			val fullName = pathHelper.append(candidates.get(0).get(0), candidates.get(0).get(1))
+			if (fullName.startsWith(ecorePackage + '.') && EcoreUtil.findEClass(pathHelper.cutFirstSegment(fullName), root) !== null) {
+				return pathHelper.cutFirstSegment(fullName) // use origin type instead of Ecore type
+			}
+			return fullName
+		}
+	}
+}
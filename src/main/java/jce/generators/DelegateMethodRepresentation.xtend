@@ -0,0 +1,80 @@
+package jce.generators
+
+import java.util.List
+import org.eclipse.xtend.lib.annotations.Accessors
+
+/**
+ * This class models a delegation method of a Java wrapper class. A delegation method implements a method of an
+ * interface of the wrapper by forwarding the call to a delegate field. All types are fully qualified.
+ * @author Timur Saglam
+ */
+@Accessors(PUBLIC_GETTER)
+class DelegateMethodRepresentation {
+	String name
+	String returnType
+	List<String> typeParameters
+	List<String> parameterTypes
+	List<String> parameterNames
+	List<String> exceptions
+	String delegate
+
+	/**
+	 * Creates a new delegation method representation from the (fully qualified) components of the method signature and
+	 * the name of the delegate field.
+	 */
+	new(String name, String returnType, List<String> typeParameters, List<String> parameterTypes, List<String> parameterNames,
+		List<String> exceptions, String delegate) {
+		this.name = name
+		this.returnType = returnType
+		this.typeParameters = typeParameters
+		this.parameterTypes = parameterTypes
+		this.parameterNames = parameterNames
+		this.exceptions = exceptions
+		this.delegate = delegate
+	}
+
+	/**
+	 * Builds the Java code fragment of this delegation method.
+	 */
+	def String getContent() '''
+		@Override
+		public «typeParameterDeclaration»«returnType» «name»(«parameterDeclaration»)«exceptionDeclaration» {
+			«IF returnType != "void"»return «ENDIF»«delegate».«name»(«String.join(", ", parameterNames)»);
+		}
+	'''
+
+	override toString() {
+		return class.name + "(" + name + parameterTypes + ")"
+	}
+
+	/**
+	 * Builds the declaration of the method type parameters, e.g. "<T extends Object> ", or an empty string.
+	 */
+	def private String getTypeParameterDeclaration() {
+		if (typeParameters.empty) {
+			return ""
+		}
+		return '''<«String.join(", ", typeParameters)»> '''
+	}
+
+	/**
+	 * Builds the parameter list with types and names.
+	 */
+	def private String getParameterDeclaration() {
+		val List<String> parameters = newArrayList
+		for (var i = 0; i < parameterTypes.size; i++) {
+			parameters.add(parameterTypes.get(i) + " " + parameterNames.get(i))
+		}
+		return String.join(", ", parameters)
+	}
+
+	/**
+	 * Builds the throws clause or an empty string if the method declares no exceptions.
+	 */
+	def private String getExceptionDeclaration() {
+		if (exceptions.empty) {
+			return ""
+		}
+		return " throws " + String.join(", ", exceptions)
+	}
+}
@@ -4,6 +4,7 @@ import java.io.File
 import java.util.List
 import jce.properties.EcorificationProperties
 import jce.util.PathHelper
+import jce.util.logging.LazyLog
 import org.eclipse.core.resources.IProject
 
 /**
@@ -29,7 +30,7 @@ class EFactoryGenerator extends ClassGenerator {
 		val packageName = currentPackage.getLastSegment.toFirstUpper
 		val content = createFactoryContent(currentPackage, packageName, packageTypes)
 		createClass(path, '''«packageName»Factory.java''', content, project)
-		monitor.beginTask(''' Created «packageName»Factory.java''', 0) // detailed logging
+		LazyLog.detail(monitor, [''' Created «packageName»Factory.java''']) // detailed logging
 	}
 
 	/**
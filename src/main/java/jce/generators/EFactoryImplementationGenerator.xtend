@@ -4,6 +4,7 @@ import java.io.File
 import java.util.List
 import jce.properties.EcorificationProperties
 import jce.util.PathHelper
+import jce.util.logging.LazyLog
 import org.eclipse.core.resources.IProject
 
 /**
@@ -30,7 +31,7 @@ class EFactoryImplementationGenerator extends ClassGenerator {
 		val packageName = interfacePackage.getLastSegment.toFirstUpper
 		val content = createFactoryContent(currentPackage, packageName, interfacePackage, packageTypes)
 		createClass(path, '''«packageName»FactoryImpl.java''', content, project)
-		monitor.beginTask(''' Created «packageName»FactoryImpl.java''', 0) // detailed logging
+		LazyLog.detail(monitor, [''' Created «packageName»FactoryImpl.java''']) // detailed logging
 	}
 
 	/**
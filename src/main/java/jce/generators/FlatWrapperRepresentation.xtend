@@ -0,0 +1,113 @@
+package jce.generators
+
+import eme.model.IntermediateModel
+import jce.properties.EcorificationProperties
+import jce.util.jdt.TypeIndex
+import org.eclipse.emf.common.notify.Notifier
+import org.eclipse.emf.ecore.EClass
+import org.eclipse.emf.ecore.EObject
+import org.eclipse.emf.ecore.InternalEObject
+
+import static jce.properties.TextProperty.WRAPPER_PACKAGE
+
+/**
+ * This class models a flattened wrapper class as plain Java code. A flattened wrapper is the Ecore implementation
+ * itself: It extends the generated Ecore implementation class and inherits its feature storage and accessors, which
+ * means there is no delegate object and no delegation methods. For classes with a super class, the Ecore implementation
+ * class is moved below the origin super class by the ImplementationInheritanceManipulator.
+ * @author Timur Saglam
+ */
+class FlatWrapperRepresentation extends WrapperRepresentation {
+
+	/**
+	 * Creates a new flattened wrapper representation from an EClass and the EcorificationProperties. The EClass
+	 * specifies which types are unified. The properties specify the employed naming scheme.
+	 */
+	new(EClass eClass, TypeIndex typeIndex, IntermediateModel model, EcorificationProperties properties) {
+		super(eClass, typeIndex, model, properties)
+	}
+
+	/**
+	 * Builds the content of a flattened wrapper class.
+	 */
+	override String getContent() '''
+		package «append(WRAPPER_PACKAGE.get, packageName)»;
+
+		«imports»
+
+		/**
+		 * Flattened unification class for the class «eClass.name»
+		 */
+		public «IF eClass.abstract»abstract «ENDIF»class «wrapperName + getParameters(true)» extends «ecoreImplementation.getLastSegment + getParameters(false)»«IF superClass === null» implements «BulkEditRepresentation.NAME».Editable«ENDIF» {
+
+			«constructors»
+
+			«specialSetters»
+
+			«bulkEditMethods»
+		}
+	'''
+
+	/**
+	 * Creates the constructors, which only pass their parameters to the Ecore implementation class.
+	 */
+	override protected String getConstructors() '''
+		«IF superClass === null || wrapperConstructors.empty»
+			public «wrapperName»() {
+				super(); // the wrapper is the Ecore implementation, no delegate is created
+			}
+		«ELSE»
+			«FOR constructor : wrapperConstructors SEPARATOR blankLine»
+				«constructor.getPassThroughContent("public", wrapperName)»
+			«ENDFOR»
+		«ENDIF»
+	'''
+
+	/**
+	 * Creates the import declarations. The delegation types of the other wrapper kinds are not needed.
+	 */
+	override protected String getImports() '''
+		import «ecoreImplementation»;
+		«IF superClass === null»
+			import «bulkEditName»;
+			import «InternalEObject.name»;
+		«ENDIF»
+		«FOR importDeclaration : importDeclarations.filter[!#[InternalEObject.name, EObject.name, Notifier.name].contains(it)]»
+			import «importDeclaration»;
+		«ENDFOR»
+		«IF eClass.EStructuralFeatures.exists[field | field.upperBound == -1]»
+			import java.util.List;
+			import «listUpdateName»;
+		«ENDIF»
+	'''
+
+	/**
+	 * Creates the bulk edit methods of root wrappers. The wrapper sends its notifications itself.
+	 */
+	override protected String getBulkEditMethods() '''
+		«IF superClass === null»
+			@Override
+			public void bulkEdit(Runnable changes, boolean coalesce) {
+				«BulkEditRepresentation.NAME».apply(this, changes, coalesce);
+			}
+
+			@Override
+			public «InternalEObject.simpleName» eNotifier() {
+				return this;
+			}
+		«ENDIF»
+	'''
+
+	/**
+	 * Returns a special setter for every field which was extracted using multiplicities.
+	 */
+	override protected String getSpecialSetters() '''
+		«FOR field : eClass.EStructuralFeatures SEPARATOR blankLine»
+			«IF field.upperBound == -1»
+				protected void set«field.name.toFirstUpper»(List<«getGenericArguments(field)»> «field.name») {
+					«ListUpdateRepresentation.NAME».replace(get«field.name.toFirstUpper»(), «field.name», «field.distinct»);
+				}
+			«ENDIF»
+		«ENDFOR»
+	'''
+}
@@ -1,5 +1,6 @@
 package jce.generators;
 
+import static jce.properties.TextProperty.GENERATION_PROFILE;
 import static jce.properties.TextProperty.SOURCE_FOLDER;
 
 import java.io.File;
@@ -26,8 +27,10 @@ import org.eclipse.emf.ecore.xmi.impl.XMIResourceImpl;
 
 import eme.generator.GeneratedEcoreMetamodel;
 import eme.generator.saving.SavingInformation;
+import jce.properties.BinaryProperty;
 import jce.properties.EcorificationProperties;
 import jce.properties.TextProperty;
+import jce.util.FeatureUniqueness;
 import jce.util.PathHelper;
 import jce.util.ResourceRefresher;
 
@@ -98,17 +101,67 @@ public class GenModelGenerator {
             genModel.setOperationReflection(true);
             genModel.setImportOrganizing(true);
             genModel.getForeignModel().add(modelName + ".ecore");
+            boolean changed = adjustUniqueness(metamodel);
             genModel.initialize(Collections.singleton(metamodel.getRoot()));
             GenPackage rootPackage = genModel.getGenPackages().get(0);
             if (rootPackage != null) {
             	rootPackage.setFileExtensions(properties.get(TextProperty.MODEL_FILE_EXTENSION));
             }
+            GenerationProfile profile = getProfile();
+            profile.configure(genModel);
+            if (properties.get(BinaryProperty.LOADED_PACKAGE_INITIALIZATION)) {
+                configureLoadedInitialization(genModel);
+            }
+            if (changed || profile.changesMetamodel()) {
+                saveMetamodel(metamodel);
+            }
             URI uri = saveGenModel(genModel, modelPath, modelName); // IMPORTANT: first save the GenModel
             return loadGenModel(uri); // and then LOAD IT AGAIN (prevents package URI exception)!
         }
         throw new IllegalArgumentException("Can create GenModel only from saved metamodels!");
     }
 
+    /**
+     * Makes the multi-valued features non-unique whose origin fields allow duplicates, if enabled. Returns true if the
+     * metamodel was changed.
+     */
+    private boolean adjustUniqueness(GeneratedEcoreMetamodel metamodel) {
+        if (properties.get(BinaryProperty.ORIGIN_UNIQUENESS)) {
+            int adjusted = FeatureUniqueness.adjust(metamodel);
+            logger.info(adjusted + " multi-valued features allow duplicates like their origin fields.");
+            return adjusted > 0;
+        }
+        return false;
+    }
+
+    /**
+     * Makes the generated packages initialize themselves by loading their serialized metamodel instead of building it in
+     * code. The model code generator then saves each package as .ecore file next to its package implementation class.
+     */
+    private void configureLoadedInitialization(GenModel genModel) {
+        for (GenPackage genPackage : genModel.getAllGenPackagesWithClassifiers()) {
+            genPackage.setLoadInitialization(true);
+        }
+        logger.info("The packages are initialized from their serialized metamodels.");
+    }
+
+    /**
+     * Returns the generation profile that is chosen in the properties, or the default profile if there is no profile
+     * with the chosen name.
+     */
+    private GenerationProfile getProfile() {
+        String name = properties.get(GENERATION_PROFILE);
+        GenerationProfile profile = GenerationProfile.find(name);
+        if (profile == null) {
+            logger.warn("Unknown generation profile " + name + ", using the default profile instead.");
+            return GenerationProfile.DEFAULT;
+        }
+        if (profile != GenerationProfile.DEFAULT) {
+            logger.info("Using the generation profile " + profile.getName());
+        }
+        return profile;
+    }
+
     /**
      * Loads and returns a GenModel from a specific URI.
      */
@@ -124,6 +177,22 @@ public class GenModelGenerator {
         throw new IllegalArgumentException("URI does not lead to a GenModel!");
     }
 
+    /**
+     * Saves the metamodel again after it was changed, the GenModel references the saved metamodel.
+     */
+    private void saveMetamodel(GeneratedEcoreMetamodel metamodel) {
+        Resource resource = metamodel.getRoot().eResource();
+        if (resource == null) {
+            logger.error("The changed metamodel is not contained in a resource and cannot be saved!");
+            return;
+        }
+        try {
+            resource.save(Collections.EMPTY_MAP);
+        } catch (IOException exception) {
+            logger.error("Error while saving the changed metamodel: ", exception);
+        }
+    }
+
     /**
      * Saves a GenModel as a file and refreshes the output folder. Returns the URI of the file.
      */
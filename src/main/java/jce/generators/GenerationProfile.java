@@ -0,0 +1,116 @@
+package jce.generators;
+
+import org.eclipse.emf.codegen.ecore.genmodel.GenDelegationKind;
+import org.eclipse.emf.codegen.ecore.genmodel.GenModel;
+import org.eclipse.emf.codegen.ecore.genmodel.GenPackage;
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+
+/**
+ * Profiles of the Ecore model code generation, which trade the defaults of the {@link GenModel} for a smaller memory
+ * footprint or other runtime properties. The profile is chosen with the property "GenerationProfile".
+ * @author Timur Saglam
+ */
+public enum GenerationProfile {
+    /**
+     * The defaults of the GenModel: One field per feature and no packed boolean attributes.
+     */
+    DEFAULT("default") {
+        @Override
+        public void configure(GenModel genModel) {
+            // keeps the GenModel defaults
+        }
+    },
+    /**
+     * Smallest heap per instance: Boolean attributes are packed into one int field and the values of all other
+     * features are stored in one array that only contains the features which are set. This is the best choice for
+     * large models whose objects leave most of their features unset, but every access of such a feature has to look
+     * up its array index.
+     */
+    FOOTPRINT("footprint") {
+        @Override
+        public void configure(GenModel genModel) {
+            genModel.setRootExtendsClass(MINIMAL_CONTAINER); // its private flags cannot be shared, no bits are reserved
+            genModel.setBooleanFlagsField("eBooleanFlags");
+            genModel.setBooleanFlagsReservedBits(0);
+            genModel.setFeatureDelegation(GenDelegationKind.VIRTUAL_LITERAL);
+            genModel.setMinimalReflectiveMethods(true);
+        }
+    },
+    /**
+     * Fastest accessors through no proxy resolution: No reference of the metamodel resolves proxies, which removes the
+     * eIsProxy check from their getters, and no reflective operation invocation (eInvoke) is generated. Models whose
+     * objects reference objects in other resources need one of the other profiles, because such proxies are never
+     * resolved.
+     */
+    LATENCY("latency") {
+        @Override
+        public void configure(GenModel genModel) {
+            genModel.setOperationReflection(false);
+            for (GenPackage genPackage : genModel.getGenPackages()) {
+                disableProxyResolution(genPackage);
+            }
+        }
+
+        @Override
+        public boolean changesMetamodel() {
+            return true;
+        }
+    };
+
+    private static final String MINIMAL_CONTAINER = "org.eclipse.emf.ecore.impl.MinimalEObjectImpl$Container";
+    private final String name;
+
+    GenerationProfile(String name) {
+        this.name = name;
+    }
+
+    /**
+     * Finds the profile with a specific name.
+     * @param name is the name of the profile, as used in the properties.
+     * @return the profile or null if there is no profile with that name.
+     */
+    public static GenerationProfile find(String name) {
+        for (GenerationProfile profile : values()) {
+            if (profile.name.equalsIgnoreCase(name.trim())) {
+                return profile;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Disables the proxy resolution of all references of the metamodel of a {@link GenPackage}.
+     */
+    private static void disableProxyResolution(GenPackage genPackage) {
+        for (TreeIterator<EObject> iterator = genPackage.getEcorePackage().eAllContents(); iterator.hasNext();) {
+            EObject element = iterator.next();
+            if (element instanceof EReference) {
+                ((EReference) element).setResolveProxies(false);
+            }
+        }
+    }
+
+    /**
+     * Checks whether the profile changes the metamodel, which means the metamodel has to be saved again.
+     * @return true if it changes the metamodel.
+     */
+    public boolean changesMetamodel() {
+        return false;
+    }
+
+    /**
+     * Applies the options of the profile to a GenModel that is initialized with the metamodel.
+     * @param genModel is the GenModel.
+     */
+    public abstract void configure(GenModel genModel);
+
+    /**
+     * Returns the name of the profile, as used in the properties.
+     * @return the name.
+     */
+    public String getName() {
+        return name;
+    }
+}
@@ -0,0 +1,201 @@
+package jce.generators
+
+import eme.model.IntermediateModel
+import java.util.List
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater
+import jce.properties.EcorificationProperties
+import org.eclipse.emf.ecore.EClass
+import org.eclipse.emf.ecore.InternalEObject
+import org.eclipse.emf.ecore.impl.MinimalEObjectImpl
+import jce.util.jdt.TypeIndex
+
+import static jce.properties.BinaryProperty.LAZY_ECORE_IMPLEMENTATION
+import static jce.properties.TextProperty.ECORE_PACKAGE
+import static jce.properties.TextProperty.WRAPPER_PACKAGE
+
+/**
+ * This class models a wrapper class as plain Java code. In contrast to the Xtend wrappers, the delegation methods are
+ * precomputed, which means the ecorified project neither needs the Xtend nature nor the Xtext builder. Optionally, the
+ * Ecore implementation is created lazily on the first Ecore access instead of in the constructors.
+ * @author Timur Saglam
+ */
+class JavaWrapperRepresentation extends WrapperRepresentation {
+	List<DelegateMethodRepresentation> delegateMethods
+
+	/**
+	 * Creates a new Java wrapper representation from an EClass and the EcorificationProperties. The EClass specifies which
+	 * types are unified. The properties specify the employed naming scheme.
+	 */
+	new(EClass eClass, TypeIndex typeIndex, IntermediateModel model, EcorificationProperties properties) {
+		super(eClass, typeIndex, model, properties)
+		delegateMethods = DelegateMethodGenerator.generate(eClass, getSuperClass(eClass), typeIndex, properties)
+	}
+
+	/**
+	 * Builds the content of a Java wrapper class.
+	 */
+	override String getContent() '''
+		package «append(WRAPPER_PACKAGE.get, packageName)»;
+
+		«imports»
+
+		/**
+		 * Unification class for the class «eClass.name»
+		 */
+		public «IF eClass.abstract»abstract «ENDIF»class «wrapperName + getParameters(true)» extends «createSuperType(superClass)» implements «eClass.name + getParameters(false)»«editableInterface» {
+
+			«IF LAZY_ECORE_IMPLEMENTATION.get»
+				«lazyDelegates»
+			«ELSE»
+				protected «eClass.name + getParameters(false)» ecoreImplementation;
+
+				«IF superClass === null»
+					// Methods of InternalEObject must also be delegated to the wrapped class
+					protected «InternalEObject.simpleName» internalEcoreImplementation;
+				«ENDIF»
+			«ENDIF»
+
+			«constructors»
+
+			«instanceMethod»
+
+			«specialSetters»
+
+			«bulkEditMethods»
+
+			«FOR method : delegateMethods SEPARATOR blankLine»
+				«method.content»
+			«ENDFOR»
+		}
+	'''
+
+	/**
+	 * Creates the getters of the lazily created Ecore implementation. The root wrapper creates the Ecore implementation
+	 * with the getInstance() method of the most specific class on the first Ecore access and publishes it atomically,
+	 * the wrappers of subclasses only narrow the type of the getter.
+	 */
+	def private String getLazyDelegates() '''
+		«IF superClass === null»
+			private volatile «eClass.name + getParameters(false)» ecoreImplementation;
+
+			@SuppressWarnings("rawtypes")
+			private static final «AtomicReferenceFieldUpdater.simpleName»<«wrapperName», «eClass.name»> ECORE_IMPLEMENTATION = «AtomicReferenceFieldUpdater.simpleName»
+					.newUpdater(«wrapperName».class, «eClass.name».class, "ecoreImplementation");
+
+			@SuppressWarnings("unchecked")
+			protected «eClass.name + getParameters(false)» getEcoreImplementation() {
+				«eClass.name + getParameters(false)» implementation = ecoreImplementation;
+				if (implementation == null) { // first Ecore access, concurrent creations are discarded
+					ECORE_IMPLEMENTATION.compareAndSet(this, null, getInstance());
+					implementation = ecoreImplementation;
+				}
+				return implementation;
+			}
+
+			// Methods of InternalEObject must also be delegated to the wrapped class
+			protected «InternalEObject.simpleName» getInternalEcoreImplementation() {
+				return («InternalEObject.simpleName») getEcoreImplementation();
+			}
+		«ELSE»
+			@Override
+			@SuppressWarnings("unchecked")
+			protected «eClass.name + getParameters(false)» getEcoreImplementation() {
+				return («eClass.name + getParameters(false)») super.getEcoreImplementation(); // created with getInstance() of this class
+			}
+		«ENDIF»
+	'''
+
+	/**
+	 * Creates the constructors depending on the super class. Lazily created Ecore implementations are not created by
+	 * the constructors.
+	 */
+	override protected String getConstructors() '''
+		«IF superClass === null || wrapperConstructors.empty»
+			public «wrapperName»() {
+				«IF !LAZY_ECORE_IMPLEMENTATION.get»
+					ecoreImplementation = getInstance();
+					«IF superClass === null»
+						internalEcoreImplementation = («InternalEObject.simpleName») ecoreImplementation;
+					«ENDIF»
+				«ENDIF»
+			}
+		«ELSE»
+			«FOR constructor : wrapperConstructors SEPARATOR blankLine»
+				«IF LAZY_ECORE_IMPLEMENTATION.get»
+					«constructor.getPassThroughContent("public", wrapperName)»
+				«ELSE»
+					«constructor.getJavaContent(wrapperName)»
+				«ENDIF»
+			«ENDFOR»
+		«ENDIF»
+	'''
+
+	/**
+	 * Creates the import declarations depending on the super class.
+	 */
+	override protected String getImports() '''
+		import «ecoreInterface»;
+		«IF !eClass.abstract»
+			import «append(ECORE_PACKAGE.get, packageName, factoryName)»;
+		«ENDIF»
+		«IF superClass === null»
+			import «bulkEditName»;
+			import «MinimalEObjectImpl.name»;
+			«IF LAZY_ECORE_IMPLEMENTATION.get»
+				import «AtomicReferenceFieldUpdater.name»;
+			«ENDIF»
+		«ELSE»
+			import «superClass»;
+		«ENDIF»
+		«FOR importDeclaration : importDeclarations»
+			import «importDeclaration»;
+		«ENDFOR»
+		«IF eClass.EStructuralFeatures.exists[field | field.upperBound == -1]»
+			import java.util.List;
+			import «listUpdateName»;
+		«ENDIF»
+	'''
+
+	/**
+	 * Creates the bulk edit methods of root wrappers. The notifications are sent by the Ecore implementation.
+	 */
+	override protected String getBulkEditMethods() '''
+		«IF superClass === null»
+			@Override
+			public void bulkEdit(Runnable changes, boolean coalesce) {
+				«BulkEditRepresentation.NAME».apply(this, changes, coalesce);
+			}
+
+			@Override
+			public «InternalEObject.simpleName» eNotifier() {
+				return «IF LAZY_ECORE_IMPLEMENTATION.get»getInternalEcoreImplementation()«ELSE»internalEcoreImplementation«ENDIF»;
+			}
+		«ENDIF»
+	'''
+
+	/**
+	 * Creates the instance template method.
+	 */
+	override protected String getInstanceMethod() '''
+		«IF eClass.abstract»
+			protected abstract «eClass.name + getParameters(false)» getInstance();
+		«ELSE»
+			protected «eClass.name + getParameters(false)» getInstance() {
+				return «factoryName».eINSTANCE.create«eClass.name»();
+			}
+		«ENDIF»
+	'''
+
+	/**
+	 * Returns a special setter for every field which was extracted using multiplicities.
+	 */
+	override protected String getSpecialSetters() '''
+		«FOR field : eClass.EStructuralFeatures SEPARATOR blankLine»
+			«IF field.upperBound == -1»
+				protected void set«field.name.toFirstUpper»(List<«getGenericArguments(field)»> «field.name») {
+					«ListUpdateRepresentation.NAME».replace(get«field.name.toFirstUpper»(), «field.name», «field.distinct»);
+				}
+			«ENDIF»
+		«ENDFOR»
+	'''
+}
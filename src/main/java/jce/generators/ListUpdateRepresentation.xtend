@@ -0,0 +1,156 @@
+package jce.generators
+
+import jce.properties.EcorificationProperties
+
+import static jce.properties.TextProperty.WRAPPER_PACKAGE
+
+/**
+ * This class models the list update utility of the ecorified code, which is used by the setters of multi-valued
+ * features. Instead of clearing a list and adding all new values, it only changes the positions whose values differ and
+ * sends one notification for attributes. Duplicates are removed with a hash set instead of the linear contains check of
+ * the EMF lists, which means replacing large lists is linear instead of quadratic.
+ * @author Timur Saglam
+ */
+class ListUpdateRepresentation {
+	public static final String NAME = "ListUpdate"
+	extension final EcorificationProperties properties
+
+	/**
+	 * Basic constructor, sets the properties.
+	 */
+	new(EcorificationProperties properties) {
+		this.properties = properties
+	}
+
+	/**
+	 * Returns the fully qualified name of the list update utility.
+	 */
+	def String getQualifiedName() {
+		return WRAPPER_PACKAGE.get + "." + NAME
+	}
+
+	/**
+	 * Builds the content of the list update utility.
+	 */
+	def String getContent() '''
+		package «WRAPPER_PACKAGE.get»;
+
+		import java.util.ArrayList;
+		import java.util.Collection;
+		import java.util.Collections;
+		import java.util.HashSet;
+		import java.util.IdentityHashMap;
+		import java.util.List;
+		import java.util.Objects;
+		import java.util.Set;
+
+		import org.eclipse.emf.common.notify.Notification;
+		import org.eclipse.emf.ecore.EReference;
+		import org.eclipse.emf.ecore.EStructuralFeature;
+		import org.eclipse.emf.ecore.InternalEObject;
+		import org.eclipse.emf.ecore.impl.ENotificationImpl;
+		import org.eclipse.emf.ecore.util.InternalEList;
+
+		/**
+		 * Replaces the values of multi-valued features with a minimal number of changes and notifications.
+		 */
+		public final class «NAME» {
+
+			private «NAME»() {
+				throw new AssertionError("Suppress default constructor for noninstantiability");
+			}
+
+			/**
+			 * Replaces the values of a list. Nothing happens if the values did not change. Attribute values are updated
+			 * in place and one SET notification with the old and the new values is sent. Reference values are cleared and
+			 * added without contains checks, which retains the inverse handling and the REMOVE_MANY and ADD_MANY
+			 * notifications that adapters like the ECrossReferenceAdapter rely on.
+			 * @param list is the list of the multi-valued feature.
+			 * @param values are the new values, null is treated as no values.
+			 * @param unique determines whether duplicates are removed. References are compared by identity like in EMF.
+			 */
+			public static <T> void replace(List<T> list, Collection<? extends T> values, boolean unique) {
+				if (list == values) {
+					return;
+				}
+				Collection<? extends T> actualValues = values == null ? Collections.<T>emptyList() : values;
+				boolean featureList = list instanceof InternalEList && list instanceof EStructuralFeature.Setting; // e.g. EcoreEList
+				boolean references = featureList && ((EStructuralFeature.Setting) list).getEStructuralFeature() instanceof EReference;
+				List<T> newValues = unique ? distinct(actualValues, references) : new ArrayList<T>(actualValues);
+				if (!featureList) {
+					list.clear();
+					list.addAll(newValues);
+				} else if (references) {
+					replaceReferences((InternalEList<T>) list, newValues);
+				} else {
+					replaceValues((InternalEList<T>) list, (EStructuralFeature.Setting) list, newValues);
+				}
+			}
+
+			/**
+			 * Replaces the values of a reference list if any position refers to a different object.
+			 */
+			private static <T> void replaceReferences(InternalEList<T> list, List<T> values) {
+				int size = list.size();
+				int start = 0;
+				while (start < size && start < values.size() && list.basicGet(start) == values.get(start)) {
+					start++;
+				}
+				if (start < size || start < values.size()) {
+					list.clear();
+					list.addAllUnique(values);
+				}
+			}
+
+			/**
+			 * Replaces the values of an attribute list in place, with the delivery of the owner suspended.
+			 */
+			private static <T> void replaceValues(InternalEList<T> list, EStructuralFeature.Setting setting, List<T> values) {
+				int size = list.size();
+				int start = 0;
+				while (start < size && start < values.size() && Objects.equals(list.get(start), values.get(start))) {
+					start++;
+				}
+				if (start == size && start == values.size()) {
+					return; // unchanged
+				}
+				InternalEObject owner = (InternalEObject) setting.getEObject();
+				List<T> oldValues = owner.eNotificationRequired() ? new ArrayList<T>(list) : null;
+				boolean deliver = owner.eDeliver();
+				owner.eSetDeliver(false);
+				try {
+					for (int index = start; index < Math.min(size, values.size()); index++) {
+						if (!Objects.equals(list.get(index), values.get(index))) {
+							list.setUnique(index, values.get(index));
+						}
+					}
+					for (int index = size - 1; index >= values.size(); index--) {
+						list.remove(index); // from the end, no values are shifted
+					}
+					if (values.size() > size) {
+						list.addAllUnique(values.subList(size, values.size()));
+					}
+				} finally {
+					owner.eSetDeliver(deliver);
+				}
+				if (oldValues != null && owner.eNotificationRequired()) {
+					owner.eNotify(new ENotificationImpl(owner, Notification.SET, setting.getEStructuralFeature(), oldValues, new ArrayList<T>(list)));
+				}
+			}
+
+			/**
+			 * Returns the values without duplicates in their original order.
+			 */
+			private static <T> List<T> distinct(Collection<? extends T> values, boolean identity) {
+				Set<T> seen = identity ? Collections.newSetFromMap(new IdentityHashMap<T, Boolean>()) : new HashSet<T>();
+				List<T> result = new ArrayList<T>(values.size());
+				for (T value : values) {
+					if (seen.add(value)) {
+						result.add(value);
+					}
+				}
+				return result;
+			}
+		}
+	'''
+}
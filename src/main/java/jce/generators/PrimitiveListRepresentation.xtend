@@ -0,0 +1,223 @@
+package jce.generators
+
+import java.util.Map
+import jce.properties.EcorificationProperties
+
+import static jce.properties.TextProperty.WRAPPER_PACKAGE
+
+/**
+ * This class models an EList for the values of a multi-valued attribute that stores them in a primitive array instead
+ * of boxed objects. The values are only boxed at the EList interface, the primitive accessors avoid that completely.
+ * The generated Ecore implementation classes use it instead of their data type lists, see the PrimitiveListManipulator.
+ * @author Timur Saglam
+ */
+class PrimitiveListRepresentation {
+	public static final Map<String, String> PRIMITIVES = #{"Integer" -> "int", "Long" -> "long", "Double" -> "double", "Float" -> "float"}
+	extension final EcorificationProperties properties
+	final String boxedType
+	final String primitiveType
+
+	/**
+	 * Creates the list representation for a boxed type.
+	 * @param boxedType is the simple name of the boxed type, one of the keys of PRIMITIVES.
+	 * @param properties are the ecorification properties.
+	 */
+	new(String boxedType, EcorificationProperties properties) {
+		this.boxedType = boxedType
+		this.properties = properties
+		primitiveType = PRIMITIVES.get(boxedType)
+	}
+
+	/**
+	 * Returns the name of the list class for a boxed type.
+	 */
+	def static String getName(String boxedType) {
+		return PRIMITIVES.get(boxedType).toFirstUpper + "EList"
+	}
+
+	/**
+	 * Returns the simple name of the list class.
+	 */
+	def String getName() {
+		return getName(boxedType)
+	}
+
+	/**
+	 * Returns the fully qualified name of the list class.
+	 */
+	def String getQualifiedName() {
+		return WRAPPER_PACKAGE.get + "." + name
+	}
+
+	/**
+	 * Builds the content of the list class.
+	 */
+	def String getContent() '''
+		package «WRAPPER_PACKAGE.get»;
+
+		import java.io.Serializable;
+		import java.util.AbstractList;
+		import java.util.Arrays;
+		import java.util.List;
+		import java.util.RandomAccess;
+
+		import org.eclipse.emf.ecore.EStructuralFeature;
+		import org.eclipse.emf.ecore.InternalEObject;
+		import org.eclipse.emf.ecore.util.DelegatingEcoreEList;
+
+		/**
+		 * EList of the values of a multi-valued attribute, stored in a «primitiveType» array. The values are only boxed when
+		 * they are accessed through the EList interface. Null values are not supported.
+		 */
+		public class «name» extends DelegatingEcoreEList<«boxedType»> {
+			private static final long serialVersionUID = 1L;
+			private final int featureID;
+			private final Storage storage;
+			private transient EStructuralFeature feature;
+
+			/**
+			 * Creates an empty list for a feature of an object.
+			 * @param owner is the object.
+			 * @param featureID is the ID of the feature in the class of the object.
+			 */
+			public «name»(InternalEObject owner, int featureID) {
+				super(owner);
+				this.featureID = featureID;
+				storage = new Storage();
+			}
+
+			@Override
+			public int getFeatureID() {
+				return featureID;
+			}
+
+			@Override
+			public EStructuralFeature getEStructuralFeature() {
+				if (feature == null) {
+					feature = owner.eClass().getEStructuralFeature(featureID);
+				}
+				return feature;
+			}
+
+			/**
+			 * Returns a value without boxing it.
+			 * @param index is the index of the value.
+			 * @return the value.
+			 */
+			public «primitiveType» get«primitiveType.toFirstUpper»(int index) {
+				return storage.getValue(index);
+			}
+
+			/**
+			 * Returns a copy of the values as an array.
+			 * @return the array of the values.
+			 */
+			public «primitiveType»[] to«primitiveType.toFirstUpper»Array() {
+				return Arrays.copyOf(storage.values, storage.size);
+			}
+
+			@Override
+			protected List<«boxedType»> delegateList() {
+				return storage;
+			}
+
+			@Override
+			protected boolean isUnique() {
+				return getEStructuralFeature().isUnique();
+			}
+
+			@Override
+			protected boolean canContainNull() {
+				return false;
+			}
+
+			/**
+			 * Growable «primitiveType» array with the list interface.
+			 */
+			private static final class Storage extends AbstractList<«boxedType»> implements RandomAccess, Serializable {
+				private static final long serialVersionUID = 1L;
+				private static final «primitiveType»[] EMPTY = new «primitiveType»[0];
+				private «primitiveType»[] values = EMPTY;
+				private int size;
+
+				@Override
+				public «boxedType» get(int index) {
+					return getValue(index);
+				}
+
+				@Override
+				public «boxedType» set(int index, «boxedType» value) {
+					check(index);
+					«primitiveType» oldValue = values[index];
+					values[index] = value;
+					return oldValue;
+				}
+
+				@Override
+				public void add(int index, «boxedType» value) {
+					if (index < 0 || index > size) {
+						throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+					}
+					«primitiveType» newValue = value; // fails before the array is changed if the value is null
+					if (size == values.length) {
+						values = Arrays.copyOf(values, Math.max(4, size + (size >> 1)));
+					}
+					System.arraycopy(values, index, values, index + 1, size - index);
+					values[index] = newValue;
+					size++;
+					modCount++;
+				}
+
+				@Override
+				public «boxedType» remove(int index) {
+					check(index);
+					«primitiveType» oldValue = values[index];
+					System.arraycopy(values, index + 1, values, index, size - index - 1);
+					size--;
+					modCount++;
+					return oldValue;
+				}
+
+				@Override
+				public void clear() {
+					size = 0;
+					modCount++;
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+
+				@Override
+				public int indexOf(Object object) {
+					if (object instanceof «boxedType») {
+						«primitiveType» value = («boxedType») object;
+						for (int index = 0; index < size; index++) {
+							if («boxedType».compare(values[index], value) == 0) { // same semantics as equals
+								return index;
+							}
+						}
+					}
+					return -1;
+				}
+
+				@Override
+				public boolean contains(Object object) {
+					return indexOf(object) >= 0;
+				}
+
+				«primitiveType» getValue(int index) {
+					check(index);
+					return values[index];
+				}
+
+				private void check(int index) {
+					if (index < 0 || index >= size) {
+						throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+					}
+				}
+			}
+		}
+	'''
+}
@@ -3,12 +3,10 @@ package jce.generators
 import java.util.LinkedList
 import java.util.List
 import jce.properties.EcorificationProperties
-import jce.util.logging.MonitorFactory
+import jce.util.jdt.TypeIndex
 import org.apache.log4j.LogManager
 import org.apache.log4j.Logger
-import org.eclipse.core.runtime.IProgressMonitor
 import org.eclipse.emf.ecore.ETypeParameter
-import org.eclipse.jdt.core.IJavaProject
 import org.eclipse.jdt.core.IType
 
 /**
@@ -24,11 +22,10 @@ final class TypeParameterGenerator {
 	/**
 	 * Builds the type parameter representations from a list of ETypeParameters and the name of the correlating Ecore interface of the wrapper.
 	 */
-	def static List<TypeParameterRepresentation> generate(List<ETypeParameter> eTypeParameters, String ecoreInterface, IJavaProject project,
+	def static List<TypeParameterRepresentation> generate(List<ETypeParameter> eTypeParameters, String ecoreInterface, TypeIndex typeIndex,
 		EcorificationProperties properties) {
 		val parameters = new LinkedList<TypeParameterRepresentation>;
-		val IProgressMonitor monitor = MonitorFactory.createProgressMonitor(logger, properties)
-		val IType type = project.findType(ecoreInterface, monitor)
+		val IType type = typeIndex.findType(ecoreInterface)
 		if(type === null || type.compilationUnit === null) {
 			logger.error("Could not get compilation unit of " + ecoreInterface)
 		} else {
@@ -3,13 +3,16 @@ package jce.generators
 import eme.generator.GeneratedEcoreMetamodel
 import jce.properties.EcorificationProperties
 import jce.util.ResourceRefresher
+import jce.util.jdt.TypeIndex
 import org.eclipse.core.resources.IProject
 import org.eclipse.emf.ecore.EClass
 import org.eclipse.emf.ecore.EClassifier
 import org.eclipse.emf.ecore.EPackage
-import org.eclipse.jdt.core.IJavaProject
-import org.eclipse.jdt.core.JavaCore
 
+import static jce.properties.BinaryProperty.FLAT_WRAPPERS
+import static jce.properties.BinaryProperty.JAVA_WRAPPERS
+import static jce.properties.BinaryProperty.LAZY_ECORE_IMPLEMENTATION
+import static jce.properties.BinaryProperty.PRIMITIVE_LISTS
 import static jce.properties.TextProperty.ROOT_CONTAINER
 import static jce.properties.TextProperty.SOURCE_FOLDER
 import static jce.properties.TextProperty.WRAPPER_PACKAGE
@@ -19,8 +22,9 @@ import static jce.properties.TextProperty.WRAPPER_PACKAGE
  * @author Timur Saglam
  */
 final class WrapperGenerator extends ClassGenerator {
-	IJavaProject javaProject
 	GeneratedEcoreMetamodel metamodel
+	IProject project
+	TypeIndex typeIndex
 
 	/**
 	 * Basic constructor, sets the properties.
@@ -32,13 +36,26 @@ final class WrapperGenerator extends ClassGenerator {
 	/** 
 	 * Builds the wrapper classes.
 	 * @param metamodel is the metamodel that got extracted from the original project.
-	 * @param directories is the {@link ProjectDirectories} instance for the project.
+	 * @param project is the output project of the ecorification.
+	 * @param typeIndex is the {@link TypeIndex} of the output project.
 	 */
-	def void buildWrappers(GeneratedEcoreMetamodel metamodel, IProject project) {
+	def void buildWrappers(GeneratedEcoreMetamodel metamodel, IProject project, TypeIndex typeIndex) {
 		logger.info("Starting the wrapper generation...")
-		this.javaProject = JavaCore.create(project)
+		if (LAZY_ECORE_IMPLEMENTATION.get && !JAVA_WRAPPERS.get && !FLAT_WRAPPERS.get) {
+			logger.warn("Lazy Ecore implementations are only supported by Java wrappers, Xtend wrappers create them eagerly.")
+		}
+		this.project = project
+		this.typeIndex = typeIndex
 		this.metamodel = metamodel
 		createFolder(wrapperFolder, project) // build wrapper base folder
+		createClass(WRAPPER_PACKAGE.get, BulkEditRepresentation.NAME + ".java", new BulkEditRepresentation(properties).content, project)
+		createClass(WRAPPER_PACKAGE.get, ListUpdateRepresentation.NAME + ".java", new ListUpdateRepresentation(properties).content, project)
+		if (PRIMITIVE_LISTS.get) { // used by the Ecore implementation classes, see PrimitiveListManipulator
+			for (boxedType : PrimitiveListRepresentation.PRIMITIVES.keySet) {
+				val list = new PrimitiveListRepresentation(boxedType, properties)
+				createClass(WRAPPER_PACKAGE.get, list.name + ".java", list.content, project)
+			}
+		}
 		buildWrappers(metamodel.root, "")
 		ResourceRefresher.refresh(project, SOURCE_FOLDER.get) // makes wrappers visible in the Eclipse IDE
 	}
@@ -50,12 +67,18 @@ final class WrapperGenerator extends ClassGenerator {
 	 */
 	def private void buildWrappers(EPackage ePackage, String path) {
 		if (containsEClass(ePackage)) { // avoids empty folders
-			createFolder(append(wrapperFolder, path), javaProject.project)
+			createFolder(append(wrapperFolder, path), project)
 		}
 		for (eClassifier : ePackage.EClassifiers) { // for every classifier
 			if (eClassifier instanceof EClass) { // if is EClass
 				if (!eClassifier.interface && !isRootContainer(eClassifier, path)) { // if is not interface or root
-					createXtendWrapper(eClassifier, path) // create wrapper class
+					if (FLAT_WRAPPERS.get) {
+						createFlatWrapper(eClassifier, path) // create Java wrapper without delegate
+					} else if (JAVA_WRAPPERS.get) {
+						createJavaWrapper(eClassifier, path) // create plain Java wrapper class
+					} else {
+						createXtendWrapper(eClassifier, path) // create wrapper class
+					}
 				}
 			}
 		}
@@ -82,9 +105,27 @@ final class WrapperGenerator extends ClassGenerator {
 	 * Creates a Xtend Wrapper in a package path with a specific name. 
 	 */
 	def private void createXtendWrapper(EClass eClass, String path) {
-		val wrapper = new WrapperRepresentation(eClass, javaProject, metamodel.intermediateModel, properties) // build wrapper representation
+		val wrapper = new WrapperRepresentation(eClass, typeIndex, metamodel.intermediateModel, properties) // build wrapper representation
+		val wrapperPath = append(WRAPPER_PACKAGE.get, path) // add wrapper prefix
+		createClass(wrapperPath, '''«wrapper.name».xtend''', wrapper.content, project) // create wrapper
+	}
+
+	/**
+	 * Creates a Java Wrapper with precomputed delegation methods in a package path with a specific name. 
+	 */
+	def private void createJavaWrapper(EClass eClass, String path) {
+		val wrapper = new JavaWrapperRepresentation(eClass, typeIndex, metamodel.intermediateModel, properties)
+		val wrapperPath = append(WRAPPER_PACKAGE.get, path) // add wrapper prefix
+		typeIndex.update(createClass(wrapperPath, '''«wrapper.name».java''', wrapper.content, project)) // create and index wrapper
+	}
+
+	/**
+	 * Creates a flattened Java Wrapper, which is the Ecore implementation itself, in a package path with a specific name.
+	 */
+	def private void createFlatWrapper(EClass eClass, String path) {
+		val wrapper = new FlatWrapperRepresentation(eClass, typeIndex, metamodel.intermediateModel, properties)
 		val wrapperPath = append(WRAPPER_PACKAGE.get, path) // add wrapper prefix
-		createClass(wrapperPath, '''«wrapper.name».xtend''', wrapper.content, javaProject.project) // create wrapper
+		typeIndex.update(createClass(wrapperPath, '''«wrapper.name».java''', wrapper.content, project)) // create and index wrapper
 	}
 
 	/**
@@ -9,7 +9,7 @@ import jce.util.PathHelper
 import org.eclipse.emf.ecore.EClass
 import org.eclipse.emf.ecore.EPackage
 import org.eclipse.emf.ecore.impl.MinimalEObjectImpl
-import org.eclipse.jdt.core.IJavaProject
+import jce.util.jdt.TypeIndex
 
 import static jce.properties.TextProperty.ECORE_PACKAGE
 import static jce.properties.TextProperty.FACTORY_SUFFIX
@@ -29,31 +29,31 @@ import jce.util.IntermediateModelUtil
  * @author Timur Saglam
  */
 class WrapperRepresentation {
-	extension PathHelper nameUtil
-	extension EcorificationProperties properties
+	protected extension PathHelper nameUtil
+	protected extension EcorificationProperties properties
 
-	String packageName
-	String superClass
-	final EClass eClass
-	String wrapperName
-	String factoryName
-	List<TypeParameterRepresentation> typeParameters
-	List<ConstructorRepresentation> wrapperConstructors
-	Set<String> importDeclarations
-	String ecoreInterface
-	String ecoreImplementation
-	final IntermediateModel model
+	protected String packageName
+	protected String superClass
+	protected final EClass eClass
+	protected String wrapperName
+	protected String factoryName
+	protected List<TypeParameterRepresentation> typeParameters
+	protected List<ConstructorRepresentation> wrapperConstructors
+	protected Set<String> importDeclarations
+	protected String ecoreInterface
+	protected String ecoreImplementation
+	protected final IntermediateModel model
 
 	/**
 	 * Creates a new wrapper representation from an EClass and the EcorificationProperties. The EClass specifies which
 	 * types are unified. The properties specify the employed naming scheme.
 	 */
-	new(EClass eClass, IJavaProject project, IntermediateModel model, EcorificationProperties properties) {
+	new(EClass eClass, TypeIndex typeIndex, IntermediateModel model, EcorificationProperties properties) {
 		this.eClass = eClass
 		this.model = model
 		this.properties = properties
 		nameUtil = new PathHelper('.')
-		createContent(project) // creates the important parts
+		createContent(typeIndex) // creates the important parts
 	}
 
 	/**
@@ -67,7 +67,7 @@ class WrapperRepresentation {
 		/**
 		 * Unification class for the class «eClass.name»
 		 */
-		«IF eClass.abstract»abstract «ENDIF»class «wrapperName + getParameters(true)» extends «createSuperType(superClass)» implements «eClass.name + getParameters(false)» {
+		«IF eClass.abstract»abstract «ENDIF»class «wrapperName + getParameters(true)» extends «createSuperType(superClass)» implements «eClass.name + getParameters(false)»«editableInterface» {
 			
 			«delegateAnnotation»
 			protected var «eClass.name + getParameters(false)» ecoreImplementation
@@ -83,6 +83,8 @@ class WrapperRepresentation {
 			«instanceMethod»
 			
 			«specialSetters»
+			
+			«bulkEditMethods»
 		}
 	'''
 
@@ -100,15 +102,15 @@ class WrapperRepresentation {
 		return packageName
 	}
 
-	def private createContent(IJavaProject project) {
+	def private createContent(TypeIndex typeIndex) {
 		packageName = getPackage(eClass)
 		wrapperName = WRAPPER_PREFIX.get + eClass.name + WRAPPER_SUFFIX.get // name of the wrapper class
 		factoryName = '''«PathHelper.capitalize(packageName.getLastSegment)»Factory«FACTORY_SUFFIX.get»'''
 		superClass = getSuperClassName(eClass)
-		wrapperConstructors = ConstructorGenerator.generate(superClass, project, properties)
+		wrapperConstructors = ConstructorGenerator.generate(superClass, typeIndex, properties)
 		ecoreInterface = append(ECORE_PACKAGE.get, packageName, eClass.name)
 		ecoreImplementation = append(ECORE_PACKAGE.get, packageName, "impl", eClass.name + "Impl")
-		typeParameters = TypeParameterGenerator.generate(eClass.ETypeParameters, ecoreImplementation, project, properties)
+		typeParameters = TypeParameterGenerator.generate(eClass.ETypeParameters, ecoreImplementation, typeIndex, properties)
 		importDeclarations = new HashSet // add import declarations:
 		if (superClass === null) {
 			importDeclarations += InternalEObject.name
@@ -122,7 +124,7 @@ class WrapperRepresentation {
 	/**
 	 * Builds the super type declaration of a wrapper from a String that is either the super type or null.
 	 */
-	def private String createSuperType(String superClass) {
+	def protected String createSuperType(String superClass) {
 		if (superClass === null) {
 			return append(typeof(MinimalEObjectImpl).simpleName, typeof(MinimalEObjectImpl.Container).simpleName)
 		}
@@ -132,7 +134,7 @@ class WrapperRepresentation {
 	/**
 	 * Creates the constructors depending on the super class.
 	 */
-	def private String getConstructors() '''
+	def protected String getConstructors() '''
 		«IF superClass === null || wrapperConstructors.empty»
 			new() {
 				ecoreImplementation = instance
@@ -161,12 +163,13 @@ class WrapperRepresentation {
 	/**
 	 * Creates the import declarations depending on the super class.
 	 */
-	def private String getImports() '''
+	def protected String getImports() '''
 		import «ecoreInterface»
 		«IF !eClass.abstract»
 			import «append(ECORE_PACKAGE.get, packageName, factoryName)»
 		«ENDIF»
 		«IF superClass === null»
+			import «bulkEditName»
 			import org.eclipse.emf.ecore.impl.MinimalEObjectImpl
 			import org.eclipse.xtend.lib.annotations.Delegate
 			import edu.kit.ipd.sdq.activextendannotations.DelegateExcept
@@ -180,13 +183,43 @@ class WrapperRepresentation {
 			
 		«IF eClass.EStructuralFeatures.exists[field | field.upperBound == -1]»
 			import java.util.List
+			import «listUpdateName»
+		«ENDIF»
+	'''
+
+	/**
+	 * Returns the bulk edit interface declaration of root wrappers, the other wrappers inherit it.
+	 */
+	def protected String getEditableInterface() {
+		return if(superClass === null) ", " + BulkEditRepresentation.NAME + ".Editable" else ""
+	}
+
+	/**
+	 * Returns the fully qualified name of the bulk edit utility.
+	 */
+	def protected String getBulkEditName() {
+		return append(WRAPPER_PACKAGE.get, BulkEditRepresentation.NAME)
+	}
+
+	/**
+	 * Creates the bulk edit methods of root wrappers. The notifications are sent by the Ecore implementation.
+	 */
+	def protected String getBulkEditMethods() '''
+		«IF superClass === null»
+			override bulkEdit(Runnable changes, boolean coalesce) {
+				«BulkEditRepresentation.NAME».apply(this, changes, coalesce)
+			}
+			
+			override eNotifier() {
+				return internalEcoreImplementation
+			}
 		«ENDIF»
 	'''
 
 	/**
 	 * Creates the instance template method.
 	 */
-	def private String getInstanceMethod() '''
+	def protected String getInstanceMethod() '''
 		«IF eClass.abstract»
 			«methodKeyword» protected abstract «eClass.name + getParameters(false)» getInstance()
 		«ELSE»
@@ -204,18 +237,32 @@ class WrapperRepresentation {
 	/**
 	 * Returns a special setter for every field which was extracted using multiplicities.
 	 */
-	def private String getSpecialSetters() '''
+	def protected String getSpecialSetters() '''
 		«FOR field : eClass.EStructuralFeatures SEPARATOR blankLine»
 			«IF field.upperBound == -1»
 				def protected void set«field.name.toFirstUpper» (List<«getGenericArguments(field)»> «field.name») {
-					get«field.name.toFirstUpper».clear
-					get«field.name.toFirstUpper».addAll(«field.name»)
+					«ListUpdateRepresentation.NAME».replace(get«field.name.toFirstUpper», «field.name», «field.distinct»)
 				}
 			«ENDIF»
 		«ENDFOR»
 	'''
 
-	def private String getGenericArguments(EStructuralFeature feature) {
+	/**
+	 * Returns the fully qualified name of the list update utility, which is used by the special setters.
+	 */
+	def protected String getListUpdateName() {
+		return append(WRAPPER_PACKAGE.get, ListUpdateRepresentation.NAME)
+	}
+
+	/**
+	 * Checks whether the special setter of a multi-valued feature removes duplicates, which unique features require.
+	 * With the property OriginUniqueness, features whose origin fields allow duplicates are non-unique, see FeatureUniqueness.
+	 */
+	def protected boolean isDistinct(EStructuralFeature feature) {
+		return feature.unique
+	}
+
+	def protected String getGenericArguments(EStructuralFeature feature) {
 		var String result = ""
 		for (argument : IntermediateModelUtil.findField(feature, model).genericArguments) {
 			result += argument.typeString
@@ -226,7 +273,7 @@ class WrapperRepresentation {
 	/**
 	 * Returns the fully qualified name of the super class of an EClass.
 	 */
-	def private String getSuperClassName(EClass eClass) {
+	def protected String getSuperClassName(EClass eClass) {
 		val EClass superType = getSuperClass(eClass)
 		if (superType !== null) {
 			return append(getPackage(superType), superType.name)
@@ -238,7 +285,7 @@ class WrapperRepresentation {
 	 * Generates the String of type parameters.
 	 * @param includeBounds determines whether the String contains the parameters with their respective bounds, e.g. "<T extends List<EString> & IFace<List<EString>>>"
 	 */
-	def private String getParameters(boolean includeBounds) {
+	def protected String getParameters(boolean includeBounds) {
 		if (typeParameters.empty) {
 			return "" // no type parameters at all
 		}
@@ -256,7 +303,7 @@ class WrapperRepresentation {
 	/**
 	 * Returns super class of an EClass or null if it has none.
 	 */
-	def private EClass getSuperClass(EClass eClass) {
+	def protected EClass getSuperClass(EClass eClass) {
 		for (superType : eClass.ESuperTypes) {
 			if (!superType.interface) {
 				return superType
@@ -268,7 +315,7 @@ class WrapperRepresentation {
 	/**
 	 * Returns the full package path of an EClass. 
 	 */
-	def private String getPackage(EClass eClass) {
+	def protected String getPackage(EClass eClass) {
 		var String package = ""
 		var EPackage current = eClass.EPackage
 		while (current !== null) { // iterate through package hierarchy
@@ -281,7 +328,7 @@ class WrapperRepresentation {
 	/**
 	 * Generates a blank line in a template.
 	 */
-	def private String getBlankLine() '''
+	def protected String getBlankLine() '''
 		
 	'''
 }
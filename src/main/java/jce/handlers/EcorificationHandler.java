@@ -3,7 +3,7 @@ package jce.handlers;
 import org.eclipse.core.resources.IProject;
 
 import eme.handlers.ProjectHandler;
-import jce.JavaCodeEcorification;
+import jce.EcorificationJob;
 
 /**
  * Handler for starting the Java code ecorification.
@@ -19,10 +19,11 @@ public class EcorificationHandler extends ProjectHandler {
     }
 
     /**
+     * Schedules the ecorification as background job, which keeps the IDE usable.
      * @see eme.handlersProjectHandler#startExtraction(org.eclipse.core.resources.IProject)
      */
     @Override
     protected void startExtraction(IProject project) {
-        new JavaCodeEcorification().start(project);
+        new EcorificationJob(project).schedule();
     }
 }
\ No newline at end of file
@@ -0,0 +1,64 @@
+package jce.handlers;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.commands.AbstractHandler;
+import org.eclipse.core.commands.ExecutionEvent;
+import org.eclipse.core.commands.ExecutionException;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.Adapters;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.dialogs.MessageDialog;
+import org.eclipse.jface.viewers.ISelection;
+import org.eclipse.jface.viewers.IStructuredSelection;
+import org.eclipse.swt.widgets.Display;
+import org.eclipse.ui.handlers.HandlerUtil;
+
+import jce.ConcurrentEcorification;
+
+/**
+ * Handler for starting the concurrent Java code ecorification of all selected projects.
+ * @author Timur Saglam
+ */
+public class MultiEcorificationHandler extends AbstractHandler {
+    private static final String TITLE = "JavaCodeEcorification";
+
+    /**
+     * Collects the selected projects and ecorifies them in a background job. The aggregate report is shown when all
+     * runs are finished.
+     * @see org.eclipse.core.commands.IHandler#execute(org.eclipse.core.commands.ExecutionEvent)
+     */
+    @Override
+    public Object execute(ExecutionEvent event) throws ExecutionException {
+        List<IProject> projects = getSelectedProjects(HandlerUtil.getCurrentSelection(event));
+        if (projects.isEmpty()) {
+            MessageDialog.openInformation(HandlerUtil.getActiveShell(event), TITLE, "Please select at least one open project.");
+            return null;
+        }
+        Display display = HandlerUtil.getActiveShell(event).getDisplay();
+        Job.create("Concurrent Ecorification", monitor -> { // keeps the UI thread free while the runs are executed
+            String report = new ConcurrentEcorification().start(projects, monitor);
+            display.asyncExec(() -> MessageDialog.openInformation(display.getActiveShell(), TITLE, report));
+            return monitor.isCanceled() ? Status.CANCEL_STATUS : Status.OK_STATUS;
+        }).schedule();
+        return null;
+    }
+
+    /**
+     * Returns all open projects of a selection.
+     */
+    private List<IProject> getSelectedProjects(ISelection selection) {
+        List<IProject> projects = new ArrayList<>();
+        if (selection instanceof IStructuredSelection) {
+            for (Object element : ((IStructuredSelection) selection).toList()) {
+                IProject project = Adapters.adapt(element, IProject.class);
+                if (project != null && project.isOpen() && !projects.contains(project)) {
+                    projects.add(project);
+                }
+            }
+        }
+        return projects;
+    }
+}
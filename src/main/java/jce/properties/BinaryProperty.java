@@ -8,7 +8,20 @@ import eme.properties.IBinaryProperty;
  */
 public enum BinaryProperty implements IBinaryProperty {
     FULL_LOGGING("FullLogging", false),
-    EXPOSE_CLASSES("ExposeClasses", true);
+    EXPOSE_CLASSES("ExposeClasses", true),
+    JAVA_WRAPPERS("JavaWrappers", false),
+    EXTRACTION_CACHE("ExtractionCache", false),
+    FAST_PROJECT_CLONING("FastProjectCloning", false),
+    CHECKPOINTS("Checkpoints", false),
+    CHANGE_TRACE("ChangeTrace", false),
+    ASYNC_LOGGING("AsyncLogging", false),
+    IN_MEMORY_VERIFICATION("InMemoryVerification", false),
+    FLAT_WRAPPERS("FlatWrappers", false),
+    LAZY_ECORE_IMPLEMENTATION("LazyEcoreImplementation", false),
+    BENCHMARK_PROJECT("BenchmarkProject", false),
+    ORIGIN_UNIQUENESS("OriginUniqueness", false),
+    PRIMITIVE_LISTS("PrimitiveLists", false),
+    LOADED_PACKAGE_INITIALIZATION("LoadedPackageInitialization", false);
     private final boolean defaultValue;
     private final String key;
 
@@ -16,7 +16,10 @@ public enum TextProperty implements ITextProperty {
     SOURCE_FOLDER("SourceFolder", "src"),
     ROOT_CONTAINER("RootContainerName", "RootContainer"),
     FACTORY_SUFFIX("OriginalFactorySuffix", "Old"),
-    MODEL_FILE_EXTENSION("ModelFileExtension", "ecorified");
+    MODEL_FILE_EXTENSION("ModelFileExtension", "ecorified"),
+    PARALLEL_RUNS("ParallelRuns", "4"),
+    LOG_BUFFER_SIZE("LogBufferSize", "8192"),
+    GENERATION_PROFILE("GenerationProfile", "default");
 	
     private final String defaultValue;
     private final String key;
@@ -4,15 +4,22 @@ import com.google.common.annotations.Beta
 import java.lang.annotation.Documented
 import java.lang.annotation.ElementType
 import java.lang.annotation.Target
+import java.util.HashMap
 import java.util.List
+import java.util.Map
+import java.util.Set
+import org.apache.log4j.LogManager
+import org.apache.log4j.Logger
 import org.eclipse.xtend.lib.annotations.Delegate
 import org.eclipse.xtend.lib.annotations.DelegateProcessor
 import org.eclipse.xtend.lib.macro.Active
 import org.eclipse.xtend.lib.macro.TransformationContext
 import org.eclipse.xtend.lib.macro.TransformationParticipant
+import org.eclipse.xtend.lib.macro.declaration.InterfaceDeclaration
 import org.eclipse.xtend.lib.macro.declaration.MemberDeclaration
 import org.eclipse.xtend.lib.macro.declaration.MutableMemberDeclaration
 import org.eclipse.xtend.lib.macro.declaration.TypeDeclaration
+import org.eclipse.xtend.lib.macro.declaration.TypeReference
 
 /**
  * Variation of the Xtend @{@link Delegate} active annotation, that only delegates the methods that were declared in the
@@ -32,10 +39,13 @@ annotation DelegateDeclared {
 }
 
 /**
- * Annotation processor of the @{@link DelegateDeclared} active annotation.
+ * Annotation processor of the @{@link DelegateDeclared} active annotation. The processor instance lives for one
+ * compilation, which is why it keeps a compilation-scoped {@link DelegationCache} for all wrappers it processes.
  */
 @Beta
 class DelegateDeclaredProcessor implements TransformationParticipant<MutableMemberDeclaration> {
+	static final Logger logger = LogManager.getLogger(DelegateDeclaredProcessor.name)
+	final DelegationCache cache = new DelegationCache
 
 	/**
 	 * Is invoked by the compiler.
@@ -43,12 +53,69 @@ class DelegateDeclaredProcessor implements TransformationParticipant<MutableMemb
 	 * @param context is a {@link TransformationContext} providing useful services.
 	 */
 	override doTransform(List<? extends MutableMemberDeclaration> elements, extension TransformationContext context) {
-		val extension util = new Util(context)
+		val extension util = new Util(context, cache)
 		elements.forEach [ // same code as in the DelegateProcessor, just with the adapted Util class.
 			if (validDelegate) {
 				methodsToImplement.forEach[method|implementMethod(method)]
 			}
 		]
+		if (logger.debugEnabled) {
+			logger.debug(cache.statistics)
+		}
+	}
+
+	/**
+	 * Compilation-scoped cache of the interface hierarchies and the delegated method signatures of the wrappers. Every
+	 * wrapper is compiled in its own transformation context, which is why the cache only keeps context-independent
+	 * names and signatures, keyed by the type name. This way, common hierarchies like the ones of InternalEObject and the
+	 * Ecore super interfaces are resolved once for all wrappers. Counts hits and misses to report the cache effectiveness.
+	 */
+	@Beta
+	static class DelegationCache {
+		final Map<String, Set<String>> implementedInterfaces = new HashMap
+		final Map<String, Set<String>> methodSignatures = new HashMap
+		final int[] interfaceLookups = newIntArrayOfSize(2) // hits and misses
+		final int[] signatureLookups = newIntArrayOfSize(2)
+
+		/**
+		 * Returns the cached names of all interfaces a type implements or computes them if they are not cached.
+		 */
+		def Set<String> getImplementedInterfaces(TypeReference type, (TypeReference)=>Set<String> computation) {
+			return lookup(implementedInterfaces, interfaceLookups, type.name, [computation.apply(type)])
+		}
+
+		/**
+		 * Returns the cached signatures of the methods that are delegated for an interface or computes them if they are
+		 * not cached.
+		 */
+		def Set<String> getMethodSignatures(TypeReference iface, (TypeReference)=>Set<String> computation) {
+			return lookup(methodSignatures, signatureLookups, iface.name, [computation.apply(iface)])
+		}
+
+		/**
+		 * Returns a message describing the cache effectiveness.
+		 */
+		def String getStatistics() {
+			return '''Delegation cache: interface hierarchies «interfaceLookups.describe», method signatures «signatureLookups.describe»'''
+		}
+
+		def private String describe(int[] lookups) {
+			val total = lookups.get(0) + lookups.get(1)
+			val rate = if(total == 0) 0 else (lookups.get(0) * 100) / total
+			return '''«lookups.get(0)» hits, «lookups.get(1)» misses («rate»% hit rate)'''
+		}
+
+		def private Set<String> lookup(Map<String, Set<String>> map, int[] lookups, String key, ()=>Set<String> computation) {
+			var result = map.get(key)
+			if (result === null) {
+				lookups.set(1, lookups.get(1) + 1)
+				result = computation.apply
+				map.put(key, result)
+			} else {
+				lookups.set(0, lookups.get(0) + 1)
+			}
+			return result
+		}
 	}
 
 	/**
@@ -58,25 +125,69 @@ class DelegateDeclaredProcessor implements TransformationParticipant<MutableMemb
 	@Beta
 	static class Util extends DelegateProcessor.Util {
 		extension TransformationContext context
+		final DelegationCache cache
 
 		/**
-		 * Basic constructor, sets the transformation context.
+		 * Basic constructor, sets the transformation context and the delegation cache.
 		 */
-		new(TransformationContext context) {
+		new(TransformationContext context, DelegationCache cache) {
 			super(context)
 			this.context = context
+			this.cache = cache
 		}
 
 		/** 
-		 * Filters the output of {@link Util#getDelegatedInterfaces} to only return
-		 * the interfaces that are direct super interfaces of the class which uses the delegate annotation.
+		 * Only returns the interfaces that are direct super interfaces of the class which uses the delegate annotation
+		 * and which are implemented by the delegate. The implemented interfaces of the delegate are looked up in the
+		 * {@link DelegationCache}.
 		 */
 		override getDelegatedInterfaces(MemberDeclaration delegate) {
-			super.getDelegatedInterfaces(delegate).filter [ iface |
-				delegate.declaringType.newSelfTypeReference.declaredSuperTypes.toSet.contains(iface)
+			val availableInterfaces = findImplementedInterfaces(delegate.type)
+			val listedInterfaces = delegate.listedInterfaces
+			delegate.declaringType.newSelfTypeReference.declaredSuperTypes.filter[type instanceof InterfaceDeclaration].filter [ iface |
+				availableInterfaces.contains(iface.name) && (listedInterfaces.empty || listedInterfaces.exists[iface.isAssignableFrom(it)])
 			].toSet // This is the only major difference to @Delegate
 		}
 
+		/**
+		 * Returns the methods a delegate implements. Which methods of an interface are delegated is looked up by their
+		 * signature in the {@link DelegationCache}.
+		 */
+		override getMethodsToImplement(MemberDeclaration delegate) {
+			val signatures = newHashSet
+			delegate.delegatedInterfaces.map [ iface |
+				val delegated = cache.getMethodSignatures(iface)[findMethodSignatures]
+				iface.allResolvedMethods.filter[delegated.contains(simpleSignature)]
+			].flatten.filter [
+				delegate.declaringType.findDeclaredMethod(declaration.simpleName, resolvedParameters.map[resolvedType]) === null
+			].filter[signatures.add(simpleSignature)].sortBy[simpleSignature].toSet
+		}
+
+		/**
+		 * Computes the names of all interfaces a type implements from its declared super types, whose interfaces are
+		 * cached as well.
+		 */
+		def private Set<String> findImplementedInterfaces(TypeReference type) {
+			cache.getImplementedInterfaces(type) [
+				val names = newHashSet
+				for (superType : declaredSuperTypes) {
+					if (superType.type instanceof InterfaceDeclaration) {
+						names += superType.name
+					}
+					names += findImplementedInterfaces(superType)
+				}
+				return names
+			]
+		}
+
+		/**
+		 * Computes the signatures of the methods of an interface that can be delegated, which are all but the static
+		 * methods and the methods of Object.
+		 */
+		def private Set<String> findMethodSignatures(TypeReference iface) {
+			iface.allResolvedMethods.filter[!declaration.static && !objectMethod].map[simpleSignature].toSet
+		}
+
 		/**
 		 * Getter for the delegates. The delegates are the members marked by the {@link DelegateDeclared}
 		 * annotation.
@@ -0,0 +1,68 @@
+package jce.util;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+
+import org.eclipse.emf.common.util.TreeIterator;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EReference;
+import org.eclipse.emf.ecore.EStructuralFeature;
+
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.model.datatypes.ExtractedField;
+
+/**
+ * Utility class that adapts the uniqueness of multi-valued features to the types of their origin fields. The extraction
+ * marks all multi-valued features as unique, which means their lists check every added value with a linear contains
+ * check. Origin lists, collections and arrays allow duplicates, so their features are made non-unique.
+ * @author Timur Saglam
+ */
+public final class FeatureUniqueness {
+    private static final List<String> NON_UNIQUE_TYPES = Arrays.asList(List.class.getName(), Collection.class.getName());
+
+    private FeatureUniqueness() {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Makes the multi-valued features of a metamodel non-unique if their origin fields allow duplicates. Containment
+     * references and references with opposites stay unique, because an object can only be contained once and EMF
+     * requires unique bidirectional references.
+     * @param metamodel is the metamodel with its intermediate model.
+     * @return the number of features that were made non-unique.
+     */
+    public static int adjust(GeneratedEcoreMetamodel metamodel) {
+        int adjusted = 0;
+        for (TreeIterator<EObject> iterator = metamodel.getRoot().eAllContents(); iterator.hasNext();) {
+            EObject element = iterator.next();
+            if (element instanceof EStructuralFeature && canBeNonUnique((EStructuralFeature) element, metamodel)) {
+                ((EStructuralFeature) element).setUnique(false);
+                adjusted++;
+            }
+        }
+        return adjusted;
+    }
+
+    /**
+     * Checks whether a unique multi-valued feature can be non-unique.
+     */
+    private static boolean canBeNonUnique(EStructuralFeature feature, GeneratedEcoreMetamodel metamodel) {
+        if (!feature.isMany() || !feature.isUnique()) {
+            return false;
+        }
+        if (feature instanceof EReference && (((EReference) feature).isContainment() || ((EReference) feature).getEOpposite() != null)) {
+            return false;
+        }
+        return allowsDuplicates(IntermediateModelUtil.findField(feature, metamodel.getIntermediateModel()));
+    }
+
+    /**
+     * Checks whether the type of an origin field allows duplicates, which is the case for lists, collections and arrays.
+     * @param field is the origin field, may be null.
+     * @return true if the field is not null and its type allows duplicates.
+     */
+    public static boolean allowsDuplicates(ExtractedField field) {
+        return field != null && (field.getFullType().endsWith("[]") || NON_UNIQUE_TYPES.contains(field.getFullType()));
+    }
+}
@@ -0,0 +1,93 @@
+package jce.util;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.io.Serializable;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+import org.eclipse.emf.common.util.URI;
+import org.eclipse.emf.ecore.EObject;
+import org.eclipse.emf.ecore.EPackage;
+import org.eclipse.emf.ecore.resource.Resource;
+import org.eclipse.emf.ecore.resource.ResourceSet;
+import org.eclipse.emf.ecore.resource.impl.ResourceSetImpl;
+import org.eclipse.emf.ecore.xmi.impl.EcoreResourceFactoryImpl;
+
+import eme.generator.GeneratedEcoreMetamodel;
+import eme.generator.saving.SavingInformation;
+import eme.model.IntermediateModel;
+
+/**
+ * Utility class for persisting extracted metamodels outside of the extraction. The Ecore metamodel itself is loaded
+ * from its saved .ecore file, the {@link IntermediateModel} is serialized separately.
+ * @author Timur Saglam
+ */
+public final class MetamodelPersistence {
+
+    private MetamodelPersistence() {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Serializes an {@link IntermediateModel} to a file.
+     * @param model is the {@link IntermediateModel}.
+     * @param file is the path of the file.
+     * @throws IOException if the model cannot be written, e.g. because it is not serializable.
+     */
+    public static void writeIntermediateModel(IntermediateModel model, Path file) throws IOException {
+        try (ObjectOutputStream output = new ObjectOutputStream(Files.newOutputStream(file))) {
+            output.writeObject(model);
+        }
+    }
+
+    /**
+     * Checks whether an {@link IntermediateModel} can be serialized. This writes the whole object graph into a discarded
+     * stream, because the model classes or the classes of their fields may not be serializable.
+     * @param model is the {@link IntermediateModel}.
+     * @return true if it can be written with {@link #writeIntermediateModel(IntermediateModel, Path)}.
+     */
+    public static boolean isSerializable(IntermediateModel model) {
+        if (!(model instanceof Serializable)) {
+            return false;
+        }
+        try (ObjectOutputStream output = new ObjectOutputStream(new OutputStream() {
+            @Override
+            public void write(int value) {
+                // discards the serialized model
+            }
+        })) {
+            output.writeObject(model);
+            return true;
+        } catch (IOException exception) {
+            return false;
+        }
+    }
+
+    /**
+     * Loads a {@link GeneratedEcoreMetamodel} from a saved metamodel file and a serialized {@link IntermediateModel}.
+     * @param modelFile is the path of the serialized {@link IntermediateModel}.
+     * @param filePath is the path of the folder that contains the metamodel file, ending with a separator.
+     * @param fileName is the name of the metamodel file without the file extension.
+     * @return the loaded {@link GeneratedEcoreMetamodel} with its {@link SavingInformation}.
+     * @throws IOException if a file cannot be read.
+     * @throws ClassNotFoundException if the serialized {@link IntermediateModel} does not match the current classes.
+     */
+    public static GeneratedEcoreMetamodel load(Path modelFile, String filePath, String fileName) throws IOException, ClassNotFoundException {
+        ResourceSet resourceSet = new ResourceSetImpl();
+        Map<String, Object> extensionMap = resourceSet.getResourceFactoryRegistry().getExtensionToFactoryMap();
+        extensionMap.put(Resource.Factory.Registry.DEFAULT_EXTENSION, new EcoreResourceFactoryImpl());
+        EObject root = resourceSet.getResource(URI.createFileURI(filePath + fileName + ".ecore"), true).getContents().get(0);
+        IntermediateModel model;
+        try (InputStream input = Files.newInputStream(modelFile); ObjectInputStream objectInput = new ObjectInputStream(input)) {
+            model = (IntermediateModel) objectInput.readObject();
+        }
+        GeneratedEcoreMetamodel metamodel = new GeneratedEcoreMetamodel((EPackage) root, model);
+        metamodel.setSavingInformation(new SavingInformation(filePath, fileName));
+        return metamodel;
+    }
+}
@@ -0,0 +1,203 @@
+package jce.util;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IProjectDescription;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.Path;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+import org.xml.sax.SAXException;
+
+import jce.util.logging.LazyLog;
+
+/**
+ * Utility class that clones Eclipse projects on the file system level. The files are copied in parallel with NIO and
+ * read-only assets outside of the source and output folders are hard linked where the file system supports it. The
+ * clone is then registered in the workspace with a single project creation, one open and one refresh, instead of one
+ * resource operation per file.
+ * @author Timur Saglam
+ */
+public final class ProjectCloner {
+    private static final Logger logger = LogManager.getLogger(ProjectCloner.class.getName());
+    private static final String CLASSPATH_FILE = ".classpath";
+
+    private ProjectCloner() {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Clones a project into a new workspace project whose name is the name of the original project with a suffix. If a
+     * project with that name already exists, a number is appended to the name.
+     * @param originalProject is the {@link IProject} to clone.
+     * @param suffix is the project name suffix of the clone.
+     * @return the cloned {@link IProject} or null if the cloning failed.
+     */
+    public static IProject clone(IProject originalProject, String suffix) {
+        long startTime = System.currentTimeMillis();
+        IWorkspace workspace = ResourcesPlugin.getWorkspace();
+        IProject project = findFreeProject(workspace, originalProject.getName() + suffix);
+        java.nio.file.Path source = originalProject.getLocation().toFile().toPath();
+        java.nio.file.Path target = workspace.getRoot().getLocation().append(project.getName()).toFile().toPath();
+        try {
+            int files = copy(source, target);
+            IProjectDescription description = workspace.loadProjectDescription(new Path(target.resolve(".project").toString()));
+            description.setName(project.getName());
+            description.setLocation(null); // default location in the workspace root
+            project.create(description, new NullProgressMonitor());
+            project.open(new NullProgressMonitor());
+            ResourceRefresher.refresh(project);
+            logger.info("Cloned " + originalProject.getName() + " to " + project.getName() + " (" + files + " files) in "
+                    + (System.currentTimeMillis() - startTime) + " ms");
+            return project;
+        } catch (IOException | UncheckedIOException | CoreException exception) {
+            logger.fatal("Cloning " + originalProject.getName() + " failed!", exception);
+            return null;
+        }
+    }
+
+    /**
+     * Copies a file tree to a target folder. The directories are created first, then the files are copied in parallel.
+     * Read-only files are hard linked if possible, unless they are in a source or output folder of the project
+     * classpath. These files are changed by the ecorification, so they must never share their content with the
+     * original. Without a classpath file nothing is linked.
+     * @param source is the root of the file tree to copy.
+     * @param target is the target folder.
+     * @return the number of copied files.
+     * @throws IOException if the file tree cannot be copied.
+     */
+    public static int copy(java.nio.file.Path source, java.nio.file.Path target) throws IOException {
+        List<java.nio.file.Path> files = new ArrayList<>();
+        Files.walkFileTree(source, new SimpleFileVisitor<java.nio.file.Path>() {
+            @Override
+            public FileVisitResult preVisitDirectory(java.nio.file.Path directory, BasicFileAttributes attributes) throws IOException {
+                Files.createDirectories(target.resolve(source.relativize(directory).toString()));
+                return FileVisitResult.CONTINUE;
+            }
+
+            @Override
+            public FileVisitResult visitFile(java.nio.file.Path file, BasicFileAttributes attributes) {
+                files.add(file);
+                return FileVisitResult.CONTINUE;
+            }
+        });
+        List<java.nio.file.Path> excludedFolders = findClasspathFolders(source);
+        files.parallelStream().forEach(file -> copyFile(file, target.resolve(source.relativize(file).toString()), isLinkable(file, excludedFolders)));
+        return files.size();
+    }
+
+    /**
+     * Deletes a file tree if it exists.
+     * @param root is the root of the file tree to delete.
+     * @throws IOException if the file tree cannot be deleted.
+     */
+    public static void delete(java.nio.file.Path root) throws IOException {
+        if (Files.exists(root)) {
+            Files.walkFileTree(root, new SimpleFileVisitor<java.nio.file.Path>() {
+                @Override
+                public FileVisitResult postVisitDirectory(java.nio.file.Path directory, IOException exception) throws IOException {
+                    Files.delete(directory);
+                    return FileVisitResult.CONTINUE;
+                }
+
+                @Override
+                public FileVisitResult visitFile(java.nio.file.Path file, BasicFileAttributes attributes) throws IOException {
+                    Files.delete(file);
+                    return FileVisitResult.CONTINUE;
+                }
+            });
+        }
+    }
+
+    /**
+     * Copies a single file. Linkable files are hard linked, which falls back to copying if linking is not supported.
+     */
+    private static void copyFile(java.nio.file.Path file, java.nio.file.Path target, boolean linkable) {
+        try {
+            if (linkable) {
+                try {
+                    Files.deleteIfExists(target);
+                    Files.createLink(target, file);
+                    return;
+                } catch (IOException | UnsupportedOperationException exception) {
+                    LazyLog.debug(logger, () -> "Could not link " + file + ", copying instead.");
+                }
+            }
+            Files.copy(file, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.COPY_ATTRIBUTES);
+        } catch (IOException exception) {
+            throw new UncheckedIOException(exception);
+        }
+    }
+
+    /**
+     * Checks whether a file is a read-only asset that can be hard linked. The excluded folders are null if the project
+     * has no readable classpath file.
+     */
+    private static boolean isLinkable(java.nio.file.Path file, List<java.nio.file.Path> excludedFolders) {
+        return excludedFolders != null && !Files.isWritable(file) && excludedFolders.stream().noneMatch(file::startsWith);
+    }
+
+    /**
+     * Returns the source and output folders of the classpath file of a project, or null if it has no readable classpath
+     * file. The default output folder is always included.
+     */
+    private static List<java.nio.file.Path> findClasspathFolders(java.nio.file.Path root) {
+        java.nio.file.Path classpathFile = root.resolve(CLASSPATH_FILE);
+        if (!Files.isRegularFile(classpathFile)) {
+            return null;
+        }
+        try {
+            List<java.nio.file.Path> folders = new ArrayList<>();
+            folders.add(root.resolve("bin"));
+            NodeList entries = DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(classpathFile.toFile()).getElementsByTagName("classpathentry");
+            for (int index = 0; index < entries.getLength(); index++) {
+                Element entry = (Element) entries.item(index);
+                String kind = entry.getAttribute("kind");
+                String path = entry.getAttribute("path");
+                if (("src".equals(kind) || "output".equals(kind)) && !path.startsWith("/")) { // not other projects
+                    folders.add(root.resolve(path));
+                }
+                if (!entry.getAttribute("output").isEmpty()) { // specific output folder of a source folder
+                    folders.add(root.resolve(entry.getAttribute("output")));
+                }
+            }
+            return folders;
+        } catch (IOException | ParserConfigurationException | SAXException exception) {
+            logger.warn("Could not read " + classpathFile + ", no files are linked.", exception);
+            return null;
+        }
+    }
+
+    /**
+     * Finds a project handle with the given name or the given name with a number, which does not exist yet. Neither the
+     * project nor a folder with its name in the workspace root exist.
+     * @param workspace is the {@link IWorkspace} of the project.
+     * @param name is the preferred name of the project.
+     * @return the handle of the free project.
+     */
+    public static IProject findFreeProject(IWorkspace workspace, String name) {
+        IProject project = workspace.getRoot().getProject(name);
+        int number = 2;
+        while (project.exists() || workspace.getRoot().getLocation().append(project.getName()).toFile().exists()) {
+            project = workspace.getRoot().getProject(name + number++);
+        }
+        return project;
+    }
+}
@@ -0,0 +1,83 @@
+package jce.util.jdt;
+
+import java.util.StringJoiner;
+
+/**
+ * Statistics of the parsed compilation units and the applied source edits of one ecorification run. The statistics are
+ * collected by the {@link ASTUtil} for the run on the current thread, see {@link ASTUtil#startStatistics()}.
+ * @author Timur Saglam
+ */
+public class ASTStatistics {
+    private long changedCharacters;
+    private long editCount;
+    private long editedUnits;
+    private final long[] parseCounts;
+    private final long[] parseTimes;
+
+    /**
+     * Basic constructor, creates empty statistics.
+     */
+    public ASTStatistics() {
+        parseCounts = new long[ParseMode.values().length];
+        parseTimes = new long[ParseMode.values().length];
+    }
+
+    /**
+     * Adds the statistics of another run, which allows aggregating multiple runs.
+     * @param other are the statistics of the other run.
+     */
+    public void add(ASTStatistics other) {
+        for (int index = 0; index < parseCounts.length; index++) {
+            parseCounts[index] += other.parseCounts[index];
+            parseTimes[index] += other.parseTimes[index];
+        }
+        editedUnits += other.editedUnits;
+        editCount += other.editCount;
+        changedCharacters += other.changedCharacters;
+    }
+
+    /**
+     * Returns the number of parsed compilation units and the parsing time for every {@link ParseMode}, e.g.
+     * "BINDINGS: 12 (340 ms)".
+     * @return the parse statistics.
+     */
+    public String getParseStatistics() {
+        StringJoiner statistics = new StringJoiner(", ");
+        for (ParseMode mode : ParseMode.values()) {
+            statistics.add(mode + ": " + parseCounts[mode.ordinal()] + " (" + parseTimes[mode.ordinal()] / 1000000 + " ms)");
+        }
+        return statistics.toString();
+    }
+
+    /**
+     * Returns the number of edited compilation units, the number of applied text edits and the number of changed
+     * characters.
+     * @return the edit statistics.
+     */
+    public String getEditStatistics() {
+        return editedUnits + " units, " + editCount + " edits, " + changedCharacters + " characters changed";
+    }
+
+    /**
+     * Counts a parsed compilation unit.
+     */
+    void addParse(ParseMode mode, long nanos) {
+        parseCounts[mode.ordinal()]++;
+        parseTimes[mode.ordinal()] += nanos;
+    }
+
+    /**
+     * Counts an edited compilation unit.
+     */
+    void addEditedUnit() {
+        editedUnits++;
+    }
+
+    /**
+     * Counts a single text edit.
+     */
+    void addEdit(int characters) {
+        editCount++;
+        changedCharacters += characters;
+    }
+}
@@ -3,6 +3,8 @@ package jce.util.jdt
 import java.util.Arrays
 import java.util.Map
 import jce.properties.EcorificationProperties
+import jce.util.logging.ChangeTrace
+import jce.util.logging.LazyLog
 import org.apache.log4j.LogManager
 import org.apache.log4j.Logger
 import org.eclipse.core.runtime.CoreException
@@ -16,11 +18,13 @@ import org.eclipse.jdt.core.dom.ASTNode
 import org.eclipse.jdt.core.dom.ASTParser
 import org.eclipse.jdt.core.dom.ASTVisitor
 import org.eclipse.jdt.core.dom.CompilationUnit
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite
 import org.eclipse.jdt.core.dom.rewrite.ImportRewrite
-import org.eclipse.jface.text.BadLocationException
 import org.eclipse.jface.text.Document
-import org.eclipse.jface.text.IDocument
+import org.eclipse.text.edits.InsertEdit
 import org.eclipse.text.edits.MalformedTreeException
+import org.eclipse.text.edits.MultiTextEdit
+import org.eclipse.text.edits.ReplaceEdit
 import org.eclipse.text.edits.TextEdit
 
 /**
@@ -28,6 +32,7 @@ import org.eclipse.text.edits.TextEdit
  */
 final class ASTUtil {
 	static final Logger logger = LogManager.getLogger(ASTUtil.getName)
+	static final ThreadLocal<ASTStatistics> statistics = ThreadLocal.withInitial[new ASTStatistics]
 
 	private new() {
 		throw new AssertionError("Suppress default constructor for noninstantiability")
@@ -42,7 +47,9 @@ final class ASTUtil {
 		if(importRewrite.hasRecordedChanges) { // apply changes if existing
 			logChange(unit, importRewrite, monitor) // log the changed imports
 			try {
+				val startTime = System.nanoTime
 				var TextEdit edits = importRewrite.rewriteImports(monitor) // create text edit
+				ChangeTrace.addEditTime(System.nanoTime - startTime)
 				applyTextEdit(edits, unit, monitor) // apply text edit to compilation unit.
 			} catch(MalformedTreeException exception) {
 				logger.fatal(exception)
@@ -54,22 +61,46 @@ final class ASTUtil {
 	}
 
 	/** 
-	 * Applies an {@link TextEdit} instance to an {@link ICompilationUnit}.
+	 * Applies an {@link TextEdit} instance to an {@link ICompilationUnit}. The edits are applied directly to the buffer
+	 * of the working copy, which is the single document of the unit.
 	 * @param edits is the {@link TextEdit} instance.
 	 * @param unit is the {@link ICompilationUnit}.
 	 * @throws JavaModelException if there is a problem with the JDT API.
 	 */
 	def static void applyTextEdit(TextEdit edits, ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
-		var IDocument document = new Document(unit.source)
+		countEdits(edits)
+		val startTime = System.nanoTime
 		try {
-			edits.apply(document)
+			unit.applyTextEdit(edits, monitor)
 		} catch(MalformedTreeException exception) {
 			logger.fatal(exception)
-		} catch(BadLocationException exception) {
-			logger.fatal(exception)
 		}
-		unit.buffer.setContents(document.get)
 		unit.commitWorkingCopy(true, monitor)
+		ChangeTrace.addCommitTime(System.nanoTime - startTime)
+	}
+
+	/** 
+	 * Visits a {@link ICompilationUnit} with a specific {@link RewriteVisitor}, which pushes localized edits into an
+	 * {@link ASTRewrite}. The merged edits are applied once, only the edited source ranges are changed.
+	 * @param unit is the {@link ICompilationUnit}.
+	 * @param visitor is the specific {@link RewriteVisitor}.
+	 * @param mode is the {@link ParseMode} the visitor needs. Declaration-only parsing is not allowed for modifications.
+	 * @throws JavaModelException if there is a problem with the JDT API.
+	 */
+	def static void applyRewriteVisitor(ICompilationUnit unit, RewriteVisitor visitor, ParseMode mode, IProgressMonitor monitor) throws JavaModelException {
+		if (mode.declarationsOnly) {
+			throw new IllegalArgumentException("Declaration-only ASTs cannot be modified: " + unit.elementName)
+		}
+		val CompilationUnit parsedUnit = parse(unit, mode, monitor)
+		val startTime = System.nanoTime
+		val ASTRewrite rewrite = ASTRewrite.create(parsedUnit.AST)
+		visitor.setRewrite(rewrite)
+		parsedUnit.accept(visitor)
+		val TextEdit edits = rewrite.rewriteAST // uses the source of the unit, no document copy needed
+		ChangeTrace.addEditTime(System.nanoTime - startTime)
+		if (edits.hasChildren) { // skip units without edits
+			applyTextEdit(edits, unit, monitor)
+		}
 	}
 
 	/** 
@@ -79,10 +110,26 @@ final class ASTUtil {
 	 * @throws JavaModelException if there is a problem with the JDT API.
 	 */
 	def static void applyVisitorModifications(ICompilationUnit unit, ASTVisitor visitor, IProgressMonitor monitor) throws JavaModelException {
-		var CompilationUnit parsedUnit = parse(unit, monitor)
+		applyVisitorModifications(unit, visitor, ParseMode.BINDINGS, monitor)
+	}
+
+	/** 
+	 * Visits all types of any {@link ICompilationUnit} of a {@link IPackageFragment} with a specific {@link ASTVisitor}and applies all recorded modifications to the Java files.
+	 * @param unit is the {@link ICompilationUnit}.
+	 * @param visitor is the specific {@link ASTVisitor}.
+	 * @param mode is the {@link ParseMode} the visitor needs. Declaration-only parsing is not allowed for modifications.
+	 * @throws JavaModelException if there is a problem with the JDT API.
+	 */
+	def static void applyVisitorModifications(ICompilationUnit unit, ASTVisitor visitor, ParseMode mode, IProgressMonitor monitor) throws JavaModelException {
+		if (mode.declarationsOnly) {
+			throw new IllegalArgumentException("Declaration-only ASTs cannot be modified: " + unit.elementName)
+		}
+		var CompilationUnit parsedUnit = parse(unit, mode, monitor)
+		val startTime = System.nanoTime
 		parsedUnit.recordModifications
 		parsedUnit.accept(visitor)
-		var TextEdit edits = parsedUnit.rewrite(new Document(unit.source), null)
+		var TextEdit edits = parsedUnit.rewrite(new Document(unit.source), null) // diff of the whole unit
+		ChangeTrace.addEditTime(System.nanoTime - startTime)
 		applyTextEdit(edits, unit, monitor)
 	}
 
@@ -94,6 +141,19 @@ final class ASTUtil {
 	 * @throws JavaModelException if there is problem with the Java model.
 	 */
 	def static CompilationUnit parse(ICompilationUnit unit, IProgressMonitor monitor) throws JavaModelException {
+		return parse(unit, ParseMode.BINDINGS, monitor)
+	}
+
+	/** 
+	 * Reads a {@link ICompilationUnit} and creates the AST DOM in a specific {@link ParseMode}.
+	 * @param unit is the {@link ICompilationUnit}.
+	 * @param mode is the {@link ParseMode}, which should be the cheapest mode that suffices.
+	 * @param monitor is the {@link IProgressMonitor}.
+	 * @return the {@link ASTNode}.
+	 * @throws JavaModelException if there is problem with the Java model.
+	 */
+	def static CompilationUnit parse(ICompilationUnit unit, ParseMode mode, IProgressMonitor monitor) throws JavaModelException {
+		val startTime = System.nanoTime
 		unit.becomeWorkingCopy(monitor)
 		var ASTParser parser = ASTParser.newParser(AST.JLS10)
 		var Map<String, String> options = JavaCore.options
@@ -101,14 +161,57 @@ final class ASTUtil {
 		parser.setCompilerOptions(options)
 		parser.setKind(ASTParser.K_COMPILATION_UNIT)
 		parser.setSource(unit)
-		parser.setResolveBindings(true)
-		return (parser.createAST(monitor) as CompilationUnit) // parse
+		parser.setResolveBindings(mode.resolvesBindings)
+		if (mode.declarationsOnly) {
+			parser.setFocalPosition(0) // skips all method bodies
+		}
+		val parsedUnit = parser.createAST(monitor) as CompilationUnit // parse
+		val parseTime = System.nanoTime - startTime
+		statistics.get.addParse(mode, parseTime)
+		ChangeTrace.addParseTime(parseTime)
+		return parsedUnit
+	}
+
+	/**
+	 * Starts new parse and edit statistics for the run on the current thread. The statistics are bound to the thread,
+	 * which means concurrent runs collect separate statistics.
+	 * @return the new {@link ASTStatistics}, which are updated until the next start on the same thread.
+	 */
+	def static ASTStatistics startStatistics() {
+		val runStatistics = new ASTStatistics
+		statistics.set(runStatistics)
+		return runStatistics
+	}
+
+	/**
+	 * Counts the leaf edits of a text edit tree and the characters they remove and insert.
+	 */
+	def private static void countEdits(TextEdit edit) {
+		statistics.get.addEditedUnit
+		countLeafEdits(edit)
+	}
+
+	/**
+	 * Recursively counts the leaf edits and their changed characters.
+	 */
+	def private static void countLeafEdits(TextEdit edit) {
+		if (edit.hasChildren) {
+			edit.children.forEach[countLeafEdits(it)]
+		} else if (!(edit instanceof MultiTextEdit)) { // empty edit trees do not count
+			val inserted = switch (edit) {
+				InsertEdit: edit.text.length
+				ReplaceEdit: edit.text.length
+				default: 0
+			}
+			statistics.get.addEdit(edit.length + inserted)
+			ChangeTrace.addEdit(edit.class.simpleName.replace("Edit", "").toLowerCase, edit.length + inserted)
+		}
 	}
 
 	/** 
 	 * Logs the changed import if full logging is enabled in the {@link EcorificationProperties}.
 	 */
 	def private static void logChange(ICompilationUnit unit, ImportRewrite rewrite, IProgressMonitor monitor) {
-		monitor.beginTask('''«unit.elementName»: remove «Arrays.toString(rewrite.removedImports)», add «Arrays.toString(rewrite.addedImports)»''', 0)
+		LazyLog.detail(monitor, ['''«unit.elementName»: remove «Arrays.toString(rewrite.removedImports)», add «Arrays.toString(rewrite.addedImports)»'''])
 	}
 }
@@ -4,6 +4,7 @@ import org.eclipse.jdt.core.dom.IExtendedModifier
 import jce.util.RawTypeUtil
 import org.eclipse.jdt.core.dom.Modifier
 import org.eclipse.jdt.core.dom.BodyDeclaration
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite
 
 /**
  * Utility class for JDT Modifier functionality.
@@ -15,16 +16,17 @@ final class ModifierUtil {
 	}
 
 	/**
-	 * Removes private and protected keyword in form of a {@link Modifier} from a type declaration node. Returns the
-	 * removed {@link Modifier} or null of none was removed.
-	 * @param node is the type declaration node.
+	 * Removes private and protected keyword in form of a {@link Modifier} from a declaration node with a
+	 * {@link ListRewrite} of its modifiers. Returns the removed {@link Modifier} or null of none was removed.
+	 * @param node is the declaration node.
+	 * @param modifierRewrite is the {@link ListRewrite} of the modifiers of the node.
 	 * @return returns the removed modifier or null if none was removed.
 	 */
-	def static Modifier removeModifiers(BodyDeclaration node) {
+	def static Modifier removeModifiers(BodyDeclaration node, ListRewrite modifierRewrite) {
 		for (modifier : RawTypeUtil.castList(IExtendedModifier, node.modifiers())) {
 			if(modifier instanceof Modifier) { // if is modifier (not annotation)
 				if(modifier.isPrivate || modifier.isProtected) {
-					modifier.delete // remove modifier from node
+					modifierRewrite.remove(modifier, null) // remove modifier from source
 					return modifier
 				}
 			}
@@ -0,0 +1,244 @@
+package jce.util.jdt;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.ElementChangedEvent;
+import org.eclipse.jdt.core.IElementChangedListener;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaElementDelta;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Index of the source package fragments of a Java project, organized as a prefix trie over the package name segments.
+ * Package fragments of libraries are not indexed. An index can be opened for the duration of an ecorification run,
+ * during which it is kept current with a Java element change listener and shared by all {@link PackageFilter} queries.
+ * @author Timur Saglam
+ */
+public final class PackageIndex implements IElementChangedListener {
+    private static final Logger logger = LogManager.getLogger(PackageIndex.class.getName());
+    private static final Map<IProject, PackageIndex> openIndices = new ConcurrentHashMap<>();
+    private final IJavaProject project;
+    private Node root;
+
+    private PackageIndex(IProject project) {
+        this.project = JavaCore.create(project);
+    }
+
+    /**
+     * Opens a run-scoped index for a project, which is used by all package queries until it is closed.
+     * @param project is the {@link IProject} to index.
+     */
+    public static void open(IProject project) {
+        PackageIndex index = new PackageIndex(project);
+        JavaCore.addElementChangedListener(index, ElementChangedEvent.POST_CHANGE);
+        PackageIndex previous = openIndices.put(project, index);
+        if (previous != null) {
+            JavaCore.removeElementChangedListener(previous);
+        }
+    }
+
+    /**
+     * Closes the run-scoped index of a project.
+     * @param project is the indexed {@link IProject}.
+     */
+    public static void close(IProject project) {
+        PackageIndex index = openIndices.remove(project);
+        if (index != null) {
+            JavaCore.removeElementChangedListener(index);
+        }
+    }
+
+    /**
+     * Returns the open index of a project, or a new single-use index if there is no open one.
+     * @param project is the {@link IProject}.
+     * @return the {@link PackageIndex}.
+     */
+    public static PackageIndex of(IProject project) {
+        PackageIndex index = openIndices.get(project);
+        return index == null ? new PackageIndex(project) : index;
+    }
+
+    /**
+     * Returns all indexed package fragments whose names start with at least one of a set of prefixes.
+     * @param prefixes are the package name prefixes.
+     * @return the matching {@link IPackageFragment}s in the order of their names.
+     */
+    public synchronized List<IPackageFragment> startingWith(String... prefixes) {
+        Set<IPackageFragment> result = new LinkedHashSet<>();
+        for (String prefix : prefixes) {
+            collect(prefix, result);
+        }
+        return new ArrayList<>(result);
+    }
+
+    /**
+     * Returns all indexed package fragments whose names start with none of a set of prefixes.
+     * @param prefixes are the package name prefixes.
+     * @return the remaining {@link IPackageFragment}s in the order of their names.
+     */
+    public synchronized List<IPackageFragment> startingNotWith(String... prefixes) {
+        Set<IPackageFragment> excluded = new LinkedHashSet<>();
+        for (String prefix : prefixes) {
+            collect(prefix, excluded);
+        }
+        List<IPackageFragment> result = new ArrayList<>();
+        for (IPackageFragment fragment : collectAll(getRoot(), new LinkedHashSet<>())) {
+            if (!excluded.contains(fragment)) {
+                result.add(fragment);
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public synchronized void elementChanged(ElementChangedEvent event) {
+        if (root != null) {
+            update(event.getDelta());
+        }
+    }
+
+    /**
+     * Updates the trie for added and removed package fragments. Changes of source folders invalidate the whole trie.
+     */
+    private void update(IJavaElementDelta delta) {
+        IJavaElement element = delta.getElement();
+        if (element instanceof IPackageFragment && project.equals(element.getJavaProject())) {
+            if (delta.getKind() == IJavaElementDelta.ADDED) {
+                add((IPackageFragment) element);
+            } else if (delta.getKind() == IJavaElementDelta.REMOVED) {
+                remove((IPackageFragment) element);
+            }
+        } else if (element instanceof IPackageFragmentRoot && delta.getKind() != IJavaElementDelta.CHANGED) {
+            root = null; // rebuilt on the next query
+        } else if (!(element instanceof IPackageFragment)) { // package fragment children are irrelevant
+            for (IJavaElementDelta child : delta.getAffectedChildren()) {
+                update(child);
+            }
+        }
+    }
+
+    /**
+     * Collects all package fragments whose names start with a prefix. All segments except the last one have to match
+     * exactly, the last segment is matched as prefix of the node segments.
+     */
+    private void collect(String prefix, Set<IPackageFragment> result) {
+        if (prefix.isEmpty()) {
+            collectAll(getRoot(), result);
+            return;
+        }
+        String[] segments = prefix.split("\\.", -1);
+        Node node = getRoot();
+        for (int i = 0; i < segments.length - 1 && node != null; i++) {
+            node = node.children.get(segments[i]);
+        }
+        if (node != null) {
+            String lastSegment = segments[segments.length - 1];
+            for (Map.Entry<String, Node> child : node.children.entrySet()) {
+                if (child.getKey().startsWith(lastSegment)) {
+                    collectAll(child.getValue(), result);
+                }
+            }
+        }
+    }
+
+    /**
+     * Collects the package fragments of a node and of all its descendants.
+     */
+    private Set<IPackageFragment> collectAll(Node node, Set<IPackageFragment> result) {
+        result.addAll(node.fragments);
+        for (Node child : node.children.values()) {
+            collectAll(child, result);
+        }
+        return result;
+    }
+
+    /**
+     * Returns the root of the trie and builds the trie with a single scan if necessary.
+     */
+    private Node getRoot() {
+        if (root == null) {
+            root = new Node();
+            try {
+                for (IPackageFragmentRoot fragmentRoot : project.getPackageFragmentRoots()) {
+                    if (fragmentRoot.getKind() == IPackageFragmentRoot.K_SOURCE) { // skips all libraries
+                        for (IJavaElement child : fragmentRoot.getChildren()) {
+                            add((IPackageFragment) child);
+                        }
+                    }
+                }
+            } catch (JavaModelException exception) {
+                logger.fatal(exception);
+            }
+        }
+        return root;
+    }
+
+    /**
+     * Adds a package fragment to the trie if it is a source package fragment.
+     */
+    private void add(IPackageFragment fragment) {
+        try {
+            if (root != null && fragment.getKind() == IPackageFragmentRoot.K_SOURCE) {
+                Node node = findNode(fragment.getElementName(), true);
+                if (!node.fragments.contains(fragment)) {
+                    node.fragments.add(fragment);
+                }
+            }
+        } catch (JavaModelException exception) {
+            logger.error("Could not index " + fragment.getElementName(), exception);
+        }
+    }
+
+    /**
+     * Removes a package fragment from the trie.
+     */
+    private void remove(IPackageFragment fragment) {
+        Node node = findNode(fragment.getElementName(), false);
+        if (node != null) {
+            node.fragments.remove(fragment);
+        }
+    }
+
+    /**
+     * Finds the node of a package name and optionally creates missing nodes.
+     */
+    private Node findNode(String packageName, boolean create) {
+        Node node = root;
+        if (!packageName.isEmpty()) { // default package is the root
+            for (String segment : packageName.split("\\.")) {
+                Node child = node.children.get(segment);
+                if (child == null) {
+                    if (!create) {
+                        return null;
+                    }
+                    child = new Node();
+                    node.children.put(segment, child);
+                }
+                node = child;
+            }
+        }
+        return node;
+    }
+
+    /**
+     * Node of the prefix trie. Contains the package fragments with the package name of the path to the node, which can
+     * be multiple fragments for multiple source folders.
+     */
+    private static class Node {
+        private final Map<String, Node> children = new TreeMap<>();
+        private final List<IPackageFragment> fragments = new ArrayList<>(1);
+    }
+}
@@ -0,0 +1,46 @@
+package jce.util.jdt;
+
+/**
+ * Modes of parsing a compilation unit, from the most expensive to the cheapest one. Every code manipulator chooses the
+ * cheapest mode its visitors need.
+ * @author Timur Saglam
+ */
+public enum ParseMode {
+    /**
+     * Full AST with resolved bindings, for visitors that need type or variable bindings.
+     */
+    BINDINGS(true, false),
+    /**
+     * Full AST without bindings, for visitors that only look at the syntax.
+     */
+    SYNTAX(false, false),
+    /**
+     * AST without method bodies and bindings, for read-only visitors that only look at declarations. Must not be used
+     * for modifications, because rewriting such an AST removes the method bodies.
+     */
+    DECLARATIONS(false, true);
+
+    private final boolean bindings;
+    private final boolean declarationsOnly;
+
+    ParseMode(boolean bindings, boolean declarationsOnly) {
+        this.bindings = bindings;
+        this.declarationsOnly = declarationsOnly;
+    }
+
+    /**
+     * Checks whether bindings are resolved.
+     * @return true if they are.
+     */
+    public boolean resolvesBindings() {
+        return bindings;
+    }
+
+    /**
+     * Checks whether method bodies are skipped.
+     * @return true if only declarations are parsed.
+     */
+    public boolean isDeclarationsOnly() {
+        return declarationsOnly;
+    }
+}
@@ -0,0 +1,61 @@
+package jce.util.jdt;
+
+import org.eclipse.jdt.core.dom.ASTNode;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.BodyDeclaration;
+import org.eclipse.jdt.core.dom.ChildListPropertyDescriptor;
+import org.eclipse.jdt.core.dom.rewrite.ASTRewrite;
+import org.eclipse.jdt.core.dom.rewrite.ListRewrite;
+
+/**
+ * Base class for {@link ASTVisitor}s that do not modify the AST directly, but push localized edits into an
+ * {@link ASTRewrite}. Only the edited source ranges are rewritten, instead of the whole compilation unit. Rewrite
+ * visitors are applied with {@link ASTUtil#applyRewriteVisitor}.
+ * @author Timur Saglam
+ */
+public abstract class RewriteVisitor extends ASTVisitor {
+    private ASTRewrite rewrite;
+
+    /**
+     * Sets the {@link ASTRewrite} that collects the edits of the next visited AST.
+     * @param rewrite is the {@link ASTRewrite}.
+     */
+    void setRewrite(ASTRewrite rewrite) {
+        this.rewrite = rewrite;
+    }
+
+    /**
+     * Returns the {@link ASTRewrite} of the visited AST.
+     * @return the {@link ASTRewrite}.
+     */
+    protected ASTRewrite getRewrite() {
+        return rewrite;
+    }
+
+    /**
+     * Returns the {@link ListRewrite} for a child list property of a node.
+     * @param node is the parent node.
+     * @param property is the child list property, e.g. the body declarations of a type.
+     * @return the {@link ListRewrite}.
+     */
+    protected ListRewrite getListRewrite(ASTNode node, ChildListPropertyDescriptor property) {
+        return rewrite.getListRewrite(node, property);
+    }
+
+    /**
+     * Returns the {@link ListRewrite} for the modifiers of a body declaration.
+     * @param declaration is the {@link BodyDeclaration}.
+     * @return the {@link ListRewrite}.
+     */
+    protected ListRewrite getModifierRewrite(BodyDeclaration declaration) {
+        return rewrite.getListRewrite(declaration, declaration.getModifiersProperty());
+    }
+
+    /**
+     * Removes a node from the source code.
+     * @param node is the {@link ASTNode} to remove.
+     */
+    protected void remove(ASTNode node) {
+        rewrite.remove(node, null);
+    }
+}
@@ -0,0 +1,148 @@
+package jce.util.jdt;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragment;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.jdt.core.JavaModelException;
+
+/**
+ * Run-scoped index of the source types of a Java project. Maps fully qualified type names to their {@link IType}s. The
+ * index is built with a single scan of the source packages on the first lookup, which replaces the name lookup of
+ * {@link IJavaProject#findType(String)} for every single type. Types that were added or renamed after the scan are
+ * resolved with {@link IJavaProject#findType(String)} once and then added to the index. Names that cannot be resolved
+ * are remembered as missing until the next {@link #update(IFile)}, which means they are not looked up again.
+ * @author Timur Saglam
+ */
+public class TypeIndex {
+    private static final Logger logger = LogManager.getLogger(TypeIndex.class.getName());
+    private int hits;
+    private int misses;
+    private final Set<String> missingTypes;
+    private final IJavaProject project;
+    private Map<String, IType> types;
+
+    /**
+     * Basic constructor, creates an empty index for a project.
+     * @param project is the {@link IProject} whose types are indexed.
+     */
+    public TypeIndex(IProject project) {
+        this.project = JavaCore.create(project);
+        missingTypes = new HashSet<>();
+    }
+
+    /**
+     * Finds a source or library type by its fully qualified name.
+     * @param typeName is the fully qualified name of the type.
+     * @return the {@link IType} or null if there is no such type.
+     */
+    public IType findType(String typeName) {
+        if (types == null) {
+            build();
+        }
+        IType type = types.get(typeName);
+        if (type != null && type.exists()) {
+            hits++;
+            return type;
+        } else if (type == null && missingTypes.contains(typeName)) {
+            hits++;
+            return null;
+        }
+        misses++;
+        try {
+            type = project.findType(typeName); // added, renamed or library type
+        } catch (JavaModelException exception) {
+            logger.error("Could not find type " + typeName, exception);
+        }
+        if (type == null) {
+            types.remove(typeName);
+            missingTypes.add(typeName);
+        } else {
+            types.put(typeName, type);
+        }
+        return type;
+    }
+
+    /**
+     * Finds the {@link ICompilationUnit} of a source type by the fully qualified name of the type.
+     * @param typeName is the fully qualified name of the type.
+     * @return the {@link ICompilationUnit} or null if there is no such source type.
+     */
+    public ICompilationUnit findUnit(String typeName) {
+        IType type = findType(typeName);
+        return type == null ? null : type.getCompilationUnit();
+    }
+
+    /**
+     * Adds the types of a created Java file to the index. Files that are no Java compilation units are ignored. The
+     * missing type names are forgotten, because the file may contain one of them.
+     * @param file is the created {@link IFile}.
+     */
+    public void update(IFile file) {
+        missingTypes.clear();
+        ICompilationUnit unit = JavaCore.createCompilationUnitFrom(file);
+        if (unit != null && types != null) {
+            try {
+                add(unit);
+            } catch (JavaModelException exception) {
+                logger.error("Could not index " + file.getName(), exception);
+            }
+        }
+    }
+
+    /**
+     * Returns the Java project of the index.
+     * @return the {@link IJavaProject}.
+     */
+    public IJavaProject getJavaProject() {
+        return project;
+    }
+
+    /**
+     * Logs the number of indexed types and the lookup statistics.
+     */
+    public void logStatistics() {
+        int size = types == null ? 0 : types.size();
+        logger.info("Type index of " + project.getElementName() + ": " + size + " types, " + missingTypes.size() + " missing, " + hits + " hits, " + misses + " misses");
+    }
+
+    /**
+     * Builds the index with a single scan of all source packages.
+     */
+    private void build() {
+        long startTime = System.currentTimeMillis();
+        types = new HashMap<>();
+        try {
+            for (IPackageFragment fragment : project.getPackageFragments()) {
+                if (fragment.getKind() == IPackageFragmentRoot.K_SOURCE) {
+                    for (ICompilationUnit unit : fragment.getCompilationUnits()) {
+                        add(unit);
+                    }
+                }
+            }
+        } catch (JavaModelException exception) {
+            logger.error("Could not build the type index of " + project.getElementName(), exception);
+        }
+        logger.info("Indexed " + types.size() + " types in " + (System.currentTimeMillis() - startTime) + " ms");
+    }
+
+    /**
+     * Adds all types of a compilation unit, including member types, to the index.
+     */
+    private void add(ICompilationUnit unit) throws JavaModelException {
+        for (IType type : unit.getAllTypes()) {
+            types.put(type.getFullyQualifiedName('.'), type);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package jce.util.logging;
+
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.locks.LockSupport;
+
+import org.apache.log4j.Appender;
+import org.apache.log4j.Category;
+import org.apache.log4j.Level;
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+import org.apache.log4j.WriterAppender;
+import org.apache.log4j.spi.LoggingEvent;
+
+/**
+ * Asynchronous sink for the messages of the logging monitors. The pipeline threads only publish their messages into a
+ * bounded lock-free ring buffer, a single daemon thread drains the buffer in batches and writes the messages to the
+ * log4j appenders. Every message stays a separate log event, but the appenders are flushed only once per batch. The
+ * drainer parks while the buffer is empty and is unparked by the next publishing thread. If the buffer is full, a
+ * publishing thread waits a short time for free space (backpressure) and drops the message if there is still none.
+ * Dropped messages are counted and reported with the next written batch.
+ * @author Timur Saglam
+ */
+public final class AsyncLogSink {
+    private static final int BACKPRESSURE_SPINS = 64;
+    private static final int BATCH_SIZE = 256;
+    private static final String FQCN = AsyncLogSink.class.getName();
+    private static final long FLUSH_TIMEOUT = TimeUnit.SECONDS.toNanos(5);
+    private static final long IDLE_NANOS = TimeUnit.MILLISECONDS.toNanos(1);
+    private static final Logger logger = LogManager.getLogger(AsyncLogSink.class.getName());
+    private static AsyncLogSink instance;
+    private final AtomicLong dropped;
+    private final Thread drainer;
+    private final AtomicLong head;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final AtomicReferenceArray<Entry> slots;
+    private volatile boolean idle;
+    private volatile long tail;
+
+    private AsyncLogSink(int capacity) {
+        int size = Integer.highestOneBit(Math.max(2, capacity - 1)) << 1; // next power of two
+        mask = size - 1;
+        slots = new AtomicReferenceArray<>(size);
+        sequences = new AtomicLongArray(size);
+        for (int index = 0; index < size; index++) {
+            sequences.set(index, index);
+        }
+        head = new AtomicLong();
+        dropped = new AtomicLong();
+        drainer = new Thread(this::drain, "JCE log sink");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    /**
+     * Returns the shared sink, which is created on the first call.
+     * @param capacity is the buffer capacity if the sink is created, it is rounded up to a power of two.
+     * @return the shared {@link AsyncLogSink}.
+     */
+    public static synchronized AsyncLogSink getInstance(int capacity) {
+        if (instance == null) {
+            instance = new AsyncLogSink(capacity);
+        }
+        return instance;
+    }
+
+    /**
+     * Flushes the shared sink if it exists. See {@link #flush()}.
+     */
+    public static void flushInstance() {
+        AsyncLogSink sink;
+        synchronized (AsyncLogSink.class) {
+            sink = instance;
+        }
+        if (sink != null) {
+            sink.flush();
+        }
+    }
+
+    /**
+     * Publishes a message. Never blocks longer than the short backpressure phase.
+     * @param target is the {@link Logger} that writes the message.
+     * @param level is the log {@link Level}.
+     * @param message is the message.
+     */
+    public void log(Logger target, Level level, String message) {
+        Entry entry = new Entry(target, level, message);
+        for (int spin = 0; spin < BACKPRESSURE_SPINS; spin++) {
+            if (offer(entry)) {
+                if (idle) {
+                    LockSupport.unpark(drainer); // wakes the drainer only if it parks or is about to park
+                }
+                return;
+            }
+            Thread.yield(); // buffer is full, give the drainer a chance
+        }
+        dropped.incrementAndGet();
+    }
+
+    /**
+     * Waits until all messages published before the call are written or a timeout of a few seconds is reached.
+     */
+    public void flush() {
+        long target = head.get();
+        long deadline = System.nanoTime() + FLUSH_TIMEOUT;
+        LockSupport.unpark(drainer);
+        while (tail < target && System.nanoTime() < deadline) {
+            LockSupport.parkNanos(IDLE_NANOS);
+        }
+    }
+
+    /**
+     * Tries to publish an entry into the ring buffer without locking.
+     */
+    private boolean offer(Entry entry) {
+        long position = head.get();
+        while (true) {
+            int index = (int) (position & mask);
+            long difference = sequences.get(index) - position;
+            if (difference == 0) { // slot is free for this position
+                if (head.compareAndSet(position, position + 1)) {
+                    slots.set(index, entry);
+                    sequences.set(index, position + 1); // publish to the drainer
+                    return true;
+                }
+                position = head.get();
+            } else if (difference < 0) { // slot still occupied by the previous round: full
+                return false;
+            } else { // another producer took the position
+                position = head.get();
+            }
+        }
+    }
+
+    /**
+     * Takes the next entry from the ring buffer. Only called by the drainer thread.
+     */
+    private Entry poll() {
+        long position = tail;
+        int index = (int) (position & mask);
+        if (!isPublished()) {
+            return null;
+        }
+        Entry entry = slots.get(index);
+        slots.set(index, null);
+        sequences.set(index, position + mask + 1); // free the slot for the next round
+        tail = position + 1;
+        return entry;
+    }
+
+    /**
+     * Drainer loop: Writes batches of messages and parks if the buffer is empty. The idle flag is set before the buffer
+     * is checked again, which means a message published in between either is found or unparks the drainer.
+     */
+    private void drain() {
+        while (true) {
+            int written = writeBatch();
+            long lost = dropped.getAndSet(0);
+            if (lost > 0) {
+                logger.warn("Dropped " + lost + " log messages, the log buffer was full.");
+            }
+            if (written == 0) {
+                idle = true;
+                if (!isPublished()) {
+                    LockSupport.park(this);
+                }
+                idle = false;
+            }
+        }
+    }
+
+    /**
+     * Checks whether the next entry is published. Only called by the drainer thread.
+     */
+    private boolean isPublished() {
+        return sequences.get((int) (tail & mask)) == tail + 1;
+    }
+
+    /**
+     * Writes up to one batch of messages. Every message is appended as its own log event with the time and the thread
+     * of its publication. Writer appenders do not flush after every event of the batch, but only after the last event
+     * they receive. Only called by the drainer thread.
+     * @return the number of written messages.
+     */
+    private int writeBatch() {
+        List<Entry> batch = new ArrayList<>();
+        Entry entry;
+        while (batch.size() < BATCH_SIZE && (entry = poll()) != null) {
+            if (entry.target.isEnabledFor(entry.level)) {
+                batch.add(entry);
+            }
+        }
+        Map<Appender, Integer> lastEvents = new HashMap<>(); // index of the last event per appender
+        List<List<Appender>> appenders = new ArrayList<>();
+        for (int index = 0; index < batch.size(); index++) {
+            List<Appender> eventAppenders = collectAppenders(batch.get(index).target);
+            appenders.add(eventAppenders);
+            for (Appender appender : eventAppenders) {
+                lastEvents.put(appender, index);
+            }
+        }
+        List<WriterAppender> deferred = new ArrayList<>();
+        for (Appender appender : lastEvents.keySet()) {
+            if (appender instanceof WriterAppender && ((WriterAppender) appender).getImmediateFlush()) {
+                ((WriterAppender) appender).setImmediateFlush(false);
+                deferred.add((WriterAppender) appender);
+            }
+        }
+        try {
+            for (int index = 0; index < batch.size(); index++) {
+                LoggingEvent event = batch.get(index).toEvent();
+                for (Appender appender : appenders.get(index)) {
+                    if (lastEvents.get(appender) == index && deferred.contains(appender)) {
+                        ((WriterAppender) appender).setImmediateFlush(true); // flushes the batch of this appender
+                    }
+                    appender.doAppend(event);
+                }
+            }
+        } finally {
+            deferred.forEach(appender -> appender.setImmediateFlush(true));
+        }
+        return batch.size();
+    }
+
+    /**
+     * Collects the appenders of a logger and of its ancestors, as long as the loggers are additive.
+     */
+    private List<Appender> collectAppenders(Logger target) {
+        List<Appender> appenders = new ArrayList<>();
+        for (Category category = target; category != null; category = category.getParent()) {
+            Enumeration<?> categoryAppenders = category.getAllAppenders();
+            while (categoryAppenders.hasMoreElements()) {
+                appenders.add((Appender) categoryAppenders.nextElement());
+            }
+            if (!category.getAdditivity()) {
+                break;
+            }
+        }
+        return appenders;
+    }
+
+    /**
+     * A published log message.
+     */
+    private static class Entry {
+        private final Level level;
+        private final String message;
+        private final Logger target;
+        private final String threadName;
+        private final long timeStamp;
+
+        Entry(Logger target, Level level, String message) {
+            this.target = target;
+            this.level = level;
+            this.message = message;
+            threadName = Thread.currentThread().getName();
+            timeStamp = System.currentTimeMillis();
+        }
+
+        /**
+         * Creates the log event of the message with the time and the thread of its publication.
+         */
+        LoggingEvent toEvent() {
+            return new LoggingEvent(FQCN, target, timeStamp, level, message, threadName, null, null, null, null);
+        }
+    }
+}
@@ -0,0 +1,223 @@
+package jce.util.logging;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Locale;
+import java.util.Set;
+import java.util.TreeSet;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Structured trace of the code changes of an ecorification run. Writes one compact JSON record per compilation unit
+ * and stage into a JSONL file: The unit, the stage, the unit size, the parse time, the edit time, the commit time, the
+ * number of edits, the changed characters and the edit kinds. The trace is bound to the thread of the run, which means
+ * concurrent runs write separate traces. All methods do nothing if no trace is open on the current thread.
+ * @author Timur Saglam
+ */
+public final class ChangeTrace {
+    private static final Logger logger = LogManager.getLogger(ChangeTrace.class.getName());
+    private static final ThreadLocal<ChangeTrace> currentTrace = new ThreadLocal<>();
+    private final BufferedWriter writer;
+    private final Path file;
+    private UnitRecord record;
+    private String stage;
+
+    private ChangeTrace(Path file, BufferedWriter writer) {
+        this.file = file;
+        this.writer = writer;
+    }
+
+    /**
+     * Opens a trace file for the current thread.
+     * @param file is the path of the JSONL trace file.
+     */
+    public static void open(Path file) {
+        try {
+            Files.createDirectories(file.getParent());
+            currentTrace.set(new ChangeTrace(file, Files.newBufferedWriter(file)));
+        } catch (IOException exception) {
+            logger.error("Could not open change trace " + file, exception);
+        }
+    }
+
+    /**
+     * Closes the trace of the current thread.
+     * @return the path of the closed trace file or null if there was no open trace.
+     */
+    public static Path close() {
+        ChangeTrace trace = currentTrace.get();
+        currentTrace.remove();
+        if (trace == null) {
+            return null;
+        }
+        try {
+            trace.writer.close();
+        } catch (IOException exception) {
+            logger.error("Could not close change trace " + trace.file, exception);
+        }
+        return trace.file;
+    }
+
+    /**
+     * Checks whether a trace is open on the current thread. Callers can skip computing trace arguments otherwise.
+     * @return true if there is an open trace.
+     */
+    public static boolean isActive() {
+        return currentTrace.get() != null;
+    }
+
+    /**
+     * Sets the stage of the following unit records, e.g. the name of the code manipulator.
+     * @param stage is the stage name.
+     */
+    public static void beginStage(String stage) {
+        ChangeTrace trace = currentTrace.get();
+        if (trace != null) {
+            trace.stage = stage;
+        }
+    }
+
+    /**
+     * Starts the record of a compilation unit in the current stage.
+     * @param unit is the fully qualified name of the unit.
+     * @param size is the size of the unit source in characters.
+     */
+    public static void beginUnit(String unit, int size) {
+        ChangeTrace trace = currentTrace.get();
+        if (trace != null) {
+            trace.record = new UnitRecord(unit, size);
+        }
+    }
+
+    /**
+     * Writes the record of the current compilation unit.
+     */
+    public static void endUnit() {
+        ChangeTrace trace = currentTrace.get();
+        if (trace != null && trace.record != null) {
+            trace.write(trace.record);
+            trace.record = null;
+        }
+    }
+
+    /**
+     * Adds parse time to the current unit record.
+     * @param nanos is the time in nanoseconds.
+     */
+    public static void addParseTime(long nanos) {
+        UnitRecord record = currentRecord();
+        if (record != null) {
+            record.parseTime += nanos;
+        }
+    }
+
+    /**
+     * Adds edit time, which is the time needed to compute the edits, to the current unit record.
+     * @param nanos is the time in nanoseconds.
+     */
+    public static void addEditTime(long nanos) {
+        UnitRecord record = currentRecord();
+        if (record != null) {
+            record.editTime += nanos;
+        }
+    }
+
+    /**
+     * Adds commit time, which is the time needed to apply and commit the edits, to the current unit record.
+     * @param nanos is the time in nanoseconds.
+     */
+    public static void addCommitTime(long nanos) {
+        UnitRecord record = currentRecord();
+        if (record != null) {
+            record.commitTime += nanos;
+        }
+    }
+
+    /**
+     * Adds a single edit to the current unit record.
+     * @param kind is the kind of the edit, e.g. insert or delete.
+     * @param changedCharacters is the number of removed and inserted characters.
+     */
+    public static void addEdit(String kind, int changedCharacters) {
+        UnitRecord record = currentRecord();
+        if (record != null) {
+            record.edits++;
+            record.changedCharacters += changedCharacters;
+            record.kinds.add(kind);
+        }
+    }
+
+    /**
+     * Returns the open unit record of the current thread or null.
+     */
+    private static UnitRecord currentRecord() {
+        ChangeTrace trace = currentTrace.get();
+        return trace == null ? null : trace.record;
+    }
+
+    /**
+     * Writes a unit record as single JSON line.
+     */
+    private void write(UnitRecord record) {
+        StringBuilder line = new StringBuilder("{");
+        line.append("\"unit\":\"").append(escape(record.unit)).append("\",");
+        line.append("\"stage\":\"").append(escape(stage)).append("\",");
+        line.append("\"size\":").append(record.size).append(',');
+        line.append("\"parseMs\":").append(toMillis(record.parseTime)).append(',');
+        line.append("\"editMs\":").append(toMillis(record.editTime)).append(',');
+        line.append("\"commitMs\":").append(toMillis(record.commitTime)).append(',');
+        line.append("\"edits\":").append(record.edits).append(',');
+        line.append("\"changed\":").append(record.changedCharacters).append(',');
+        line.append("\"kinds\":[");
+        String separator = "";
+        for (String kind : record.kinds) {
+            line.append(separator).append('"').append(escape(kind)).append('"');
+            separator = ",";
+        }
+        line.append("]}");
+        try {
+            writer.write(line.toString());
+            writer.newLine();
+        } catch (IOException exception) {
+            logger.error("Could not write change trace record of " + record.unit, exception);
+        }
+    }
+
+    /**
+     * Formats nanoseconds as milliseconds with three decimal places.
+     */
+    private static String toMillis(long nanos) {
+        return String.format(Locale.ROOT, "%.3f", nanos / 1e6);
+    }
+
+    /**
+     * Escapes a string for a JSON string literal.
+     */
+    private static String escape(String value) {
+        return value == null ? "" : value.replace("\\", "\\\\").replace("\"", "\\\"");
+    }
+
+    /**
+     * Collected values of one compilation unit in one stage.
+     */
+    private static class UnitRecord {
+        private int changedCharacters;
+        private long commitTime;
+        private long editTime;
+        private int edits;
+        private final Set<String> kinds;
+        private long parseTime;
+        private final int size;
+        private final String unit;
+
+        UnitRecord(String unit, int size) {
+            this.unit = unit;
+            this.size = size;
+            kinds = new TreeSet<>();
+        }
+    }
+}
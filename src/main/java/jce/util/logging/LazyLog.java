@@ -0,0 +1,74 @@
+package jce.util.logging;
+
+import java.util.function.Supplier;
+
+import org.apache.log4j.Level;
+import org.apache.log4j.Logger;
+import org.eclipse.core.runtime.IProgressMonitor;
+
+/**
+ * Logging facade with level guards and lazily built messages. The message suppliers are only evaluated if the message
+ * is actually logged, which means disabled logging does no string building. Detail messages are the messages that are
+ * logged through the progress monitors of the {@link MonitorFactory}, they are only built if full logging is enabled.
+ * @author Timur Saglam
+ */
+public final class LazyLog {
+
+    private LazyLog() {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Logs a message on the debug level if the level is enabled.
+     * @param logger is the {@link Logger}.
+     * @param message is the supplier of the message.
+     */
+    public static void debug(Logger logger, Supplier<String> message) {
+        if (logger.isDebugEnabled()) {
+            logger.debug(message.get());
+        }
+    }
+
+    /**
+     * Logs a message on the info level if the level is enabled.
+     * @param logger is the {@link Logger}.
+     * @param message is the supplier of the message.
+     */
+    public static void info(Logger logger, Supplier<String> message) {
+        if (logger.isInfoEnabled()) {
+            logger.info(message.get());
+        }
+    }
+
+    /**
+     * Logs a message on the warn level if the level is enabled.
+     * @param logger is the {@link Logger}.
+     * @param message is the supplier of the message.
+     */
+    public static void warn(Logger logger, Supplier<String> message) {
+        if (logger.isEnabledFor(Level.WARN)) {
+            logger.warn(message.get());
+        }
+    }
+
+    /**
+     * Logs a detail message through a progress monitor if the monitor feeds into an enabled logger.
+     * @param monitor is the {@link IProgressMonitor} created by the {@link MonitorFactory}.
+     * @param message is the supplier of the message.
+     */
+    public static void detail(IProgressMonitor monitor, Supplier<String> message) {
+        if (isDetailed(monitor)) {
+            monitor.beginTask(message.get(), 0);
+        }
+    }
+
+    /**
+     * Checks whether detail messages of a progress monitor are logged. Can be used as guard for detail messages whose
+     * creation throws checked exceptions.
+     * @param monitor is the {@link IProgressMonitor} created by the {@link MonitorFactory}.
+     * @return true if the monitor feeds into a logger with enabled info level.
+     */
+    public static boolean isDetailed(IProgressMonitor monitor) {
+        return monitor instanceof ProgressMonitorAdapter && ((ProgressMonitorAdapter) monitor).isLogging();
+    }
+}
@@ -1,5 +1,6 @@
 package jce.util.logging;
 
+import org.apache.log4j.Level;
 import org.apache.log4j.Logger;
 import org.eclipse.emf.common.util.Diagnostic;
 import org.eclipse.emf.common.util.Monitor;
@@ -11,13 +12,24 @@ import org.eclipse.emf.common.util.Monitor;
 public class MonitorAdapter implements Monitor {
     private boolean canceled;
     private final Logger logger;
+    private final AsyncLogSink sink;
 
     /**
      * Basic constructor, sets the logger.
      * @param logger is the logger to redirect to the tasks and their messages.
      */
     public MonitorAdapter(Logger logger) {
+        this(logger, null);
+    }
+
+    /**
+     * Constructor for asynchronous logging, sets the logger and the sink that writes the messages.
+     * @param logger is the logger to redirect to the tasks and their messages.
+     * @param sink is the {@link AsyncLogSink}, or null for synchronous logging.
+     */
+    public MonitorAdapter(Logger logger, AsyncLogSink sink) {
         this.logger = logger;
+        this.sink = sink;
     }
 
     @Override
@@ -71,15 +83,19 @@ public class MonitorAdapter implements Monitor {
     }
 
     /**
-     * Redirects a message to the logger if it is not null or only one character.
+     * Redirects a message to the logger if it is not null or only one character. The message is handed to the sink if
+     * there is one, disabled levels are filtered before.
      * @param message is the message that gets redirected.
      */
     private void redirectToLogger(String message, boolean important) {
         if (message != null && message.length() > 1) {
-            if (important) {
-                logger.info(message);
-            } else {
-                logger.debug(message);
+            Level level = important ? Level.INFO : Level.DEBUG;
+            if (logger.isEnabledFor(level)) {
+                if (sink == null) {
+                    logger.log(level, message);
+                } else {
+                    sink.log(logger, level, message);
+                }
             }
         }
     }
@@ -8,6 +8,7 @@ import org.eclipse.emf.common.util.Monitor;
 
 import jce.properties.BinaryProperty;
 import jce.properties.EcorificationProperties;
+import jce.properties.TextProperty;
 
 /**
  * Utility class for the creation of monitors.
@@ -22,14 +23,14 @@ public final class MonitorFactory {
     /**
      * Creates an {@link Monitor} according to the {@link EcorificationProperties}. This can either be a working monitor
      * that feeds into the {@link Logger} or a {@link BasicMonitor}. A working monitor is created when full logging is
-     * enabled.
+     * enabled, it logs asynchronously if asynchronous logging is enabled.
      * @param logger is the {@link Logger}.
      * @param properties are the {@link EcorificationProperties}.
      * @return the monitor.
      */
     public static Monitor createMonitor(Logger logger, EcorificationProperties properties) {
         if (properties.get(BinaryProperty.FULL_LOGGING)) { // if full logging is enabled:
-            return new MonitorAdapter(logger); // create real logger.
+            return new MonitorAdapter(logger, getSink(properties)); // create real logger.
         }
         return new BasicMonitor(); // else: create null logger.
     }
@@ -37,15 +38,29 @@ public final class MonitorFactory {
     /**
      * Creates an {@link IProgressMonitor} according to the {@link EcorificationProperties}. This can either be a
      * working progress monitor that feeds into the {@link Logger} or a {@link NullProgressMonitor}. A working monitor
-     * is created when full logging is enabled.
+     * is created when full logging is enabled, it logs asynchronously if asynchronous logging is enabled.
      * @param logger is the {@link Logger}.
      * @param properties are the {@link EcorificationProperties}.
      * @return the monitor.
      */
     public static IProgressMonitor createProgressMonitor(Logger logger, EcorificationProperties properties) {
         if (properties.get(BinaryProperty.FULL_LOGGING)) { // if full logging is enabled:
-            return new ProgressMonitorAdapter(logger); // create real logger.
+            return new ProgressMonitorAdapter(logger, getSink(properties)); // create real logger.
         }
         return new NullProgressMonitor(); // else: create null logger.
     }
+
+    /**
+     * Returns the shared {@link AsyncLogSink} if asynchronous logging is enabled, or null if not.
+     */
+    private static AsyncLogSink getSink(EcorificationProperties properties) {
+        if (properties.get(BinaryProperty.ASYNC_LOGGING)) {
+            try {
+                return AsyncLogSink.getInstance(Integer.parseInt(properties.get(TextProperty.LOG_BUFFER_SIZE)));
+            } catch (NumberFormatException exception) {
+                return AsyncLogSink.getInstance(Integer.parseInt(TextProperty.LOG_BUFFER_SIZE.getDefaultValue()));
+            }
+        }
+        return null;
+    }
 }
@@ -0,0 +1,158 @@
+package jce.util.logging;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.log4j.LogManager;
+import org.apache.log4j.Logger;
+
+/**
+ * Analyzes the JSONL files written by the {@link ChangeTrace}. Reports the slowest compilation units and the stages
+ * whose time grows superlinearly with the unit size. The growth is the slope of a least squares fit of log(time) over
+ * log(size): A slope of 1 means linear growth, a slope of 2 quadratic growth.
+ * @author Timur Saglam
+ */
+public final class TraceAnalyzer {
+    private static final Logger logger = LogManager.getLogger(TraceAnalyzer.class.getName());
+    private static final int MINIMAL_SAMPLES = 5;
+    private static final Pattern NUMBER = Pattern.compile("\"(size|parseMs|editMs|commitMs)\":([0-9.]+)");
+    private static final Pattern STRING = Pattern.compile("\"(unit|stage)\":\"((?:[^\"\\\\]|\\\\.)*)\"");
+    private static final double SUPERLINEAR_SLOPE = 1.2;
+
+    private TraceAnalyzer() {
+        throw new AssertionError("Suppress default constructor for noninstantiability");
+    }
+
+    /**
+     * Analyzes a change trace file.
+     * @param file is the path of the JSONL trace file.
+     * @param topUnits is the number of slowest units that are reported.
+     * @return the analysis report.
+     */
+    public static String analyze(Path file, int topUnits) {
+        List<Entry> entries = read(file);
+        StringBuilder report = new StringBuilder("Change trace analysis of " + entries.size() + " records:");
+        entries.stream().sorted(Comparator.comparingDouble(Entry::getTotalTime).reversed()).limit(topUnits)
+                .forEach(entry -> report.append(System.lineSeparator()).append("  ").append(entry));
+        Map<String, List<Entry>> stages = new LinkedHashMap<>();
+        entries.forEach(entry -> stages.computeIfAbsent(entry.stage, key -> new ArrayList<>()).add(entry));
+        stages.forEach((stage, stageEntries) -> {
+            double slope = fitSlope(stageEntries);
+            if (!Double.isNaN(slope)) {
+                String growth = slope > SUPERLINEAR_SLOPE ? " SUPERLINEAR" : "";
+                report.append(System.lineSeparator());
+                report.append(String.format(Locale.ROOT, "  Stage %s: slope %.2f over %d units%s", stage, slope, stageEntries.size(), growth));
+            }
+        });
+        return report.toString();
+    }
+
+    /**
+     * Fits log(time) over log(size) and returns the slope, or NaN if there are too few usable samples.
+     */
+    private static double fitSlope(List<Entry> entries) {
+        double sumX = 0;
+        double sumY = 0;
+        double sumXX = 0;
+        double sumXY = 0;
+        int samples = 0;
+        for (Entry entry : entries) {
+            if (entry.size > 0 && entry.getTotalTime() > 0) { // logarithm needs positive values
+                double x = Math.log(entry.size);
+                double y = Math.log(entry.getTotalTime());
+                sumX += x;
+                sumY += y;
+                sumXX += x * x;
+                sumXY += x * y;
+                samples++;
+            }
+        }
+        double denominator = samples * sumXX - sumX * sumX;
+        if (samples < MINIMAL_SAMPLES || denominator == 0) {
+            return Double.NaN;
+        }
+        return (samples * sumXY - sumX * sumY) / denominator;
+    }
+
+    /**
+     * Reads all records of a trace file.
+     */
+    private static List<Entry> read(Path file) {
+        List<Entry> entries = new ArrayList<>();
+        try {
+            for (String line : Files.readAllLines(file)) {
+                if (!line.trim().isEmpty()) {
+                    entries.add(parse(line));
+                }
+            }
+        } catch (IOException exception) {
+            logger.error("Could not read change trace " + file, exception);
+        }
+        return entries;
+    }
+
+    /**
+     * Parses a single JSON record.
+     */
+    private static Entry parse(String line) {
+        Entry entry = new Entry();
+        Matcher matcher = STRING.matcher(line);
+        while (matcher.find()) {
+            String value = matcher.group(2).replace("\\\"", "\"").replace("\\\\", "\\");
+            if ("unit".equals(matcher.group(1))) {
+                entry.unit = value;
+            } else {
+                entry.stage = value;
+            }
+        }
+        matcher = NUMBER.matcher(line);
+        while (matcher.find()) {
+            double value = Double.parseDouble(matcher.group(2));
+            switch (matcher.group(1)) {
+            case "size":
+                entry.size = (int) value;
+                break;
+            case "parseMs":
+                entry.parseTime = value;
+                break;
+            case "editMs":
+                entry.editTime = value;
+                break;
+            default:
+                entry.commitTime = value;
+            }
+        }
+        return entry;
+    }
+
+    /**
+     * Single record of a change trace.
+     */
+    private static class Entry {
+        private double commitTime;
+        private double editTime;
+        private double parseTime;
+        private int size;
+        private String stage = "";
+        private String unit = "";
+
+        double getTotalTime() {
+            return parseTime + editTime + commitTime;
+        }
+
+        @Override
+        public String toString() {
+            return String.format(Locale.ROOT, "%s in %s: %.1f ms (parse %.1f, edit %.1f, commit %.1f), %d characters", unit, stage,
+                    getTotalTime(), parseTime, editTime, commitTime, size);
+        }
+    }
+}